@@ -0,0 +1,96 @@
+package com.senai.jonatas.funcionarios.benchmark;
+
+import com.senai.jonatas.funcionarios.FuncionariosApplication;
+import com.senai.jonatas.funcionarios.entity.Trigramas;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Sobe a aplicação sem servidor web sobre um H2 em arquivo (target/jmh/db-&lt;tamanho&gt;)
+ * e popula a massa de dados uma única vez por tamanho; as execuções seguintes reaproveitam o arquivo.
+ */
+final class BenchmarkContexto {
+
+    static final int DEPARTAMENTOS = 20;
+
+    static final String[] CARGOS = {
+            "Analista de Sistemas", "Desenvolvedor Java", "Gerente de Projetos", "Analista Financeiro",
+            "Assistente Administrativo", "Coordenador de RH", "Engenheiro de Dados", "Suporte Técnico"
+    };
+
+    private static final int LOTE = 5_000;
+
+    private BenchmarkContexto() {}
+
+    static ConfigurableApplicationContext iniciar(int tamanho, String... propriedadesExtras) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        var propriedades = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:file:./target/jmh/db-" + tamanho + ";DB_CLOSE_ON_EXIT=FALSE",
+                "spring.main.web-application-type=none",
+                "spring.main.banner-mode=off",
+                "spring.jpa.show-sql=false",
+                "logging.level.root=WARN"));
+        propriedades.addAll(Arrays.asList(propriedadesExtras));
+        var contexto = new SpringApplicationBuilder(FuncionariosApplication.class)
+                .properties(propriedades.toArray(String[]::new))
+                .run();
+        popular(contexto.getBean(JdbcTemplate.class), tamanho);
+        return contexto;
+    }
+
+    static String nome(int i) {
+        return String.format("Funcionario %07d", i);
+    }
+
+    private static void popular(JdbcTemplate jdbc, int tamanho) {
+        Long existentes = jdbc.queryForObject("select count(*) from funcionarios", Long.class);
+        if (existentes != null && existentes >= tamanho) {
+            return;
+        }
+        jdbc.update("delete from funcionario_cargo_trigramas");
+        jdbc.update("delete from funcionarios");
+        jdbc.update("delete from departamentos");
+
+        var departamentos = new ArrayList<Object[]>();
+        for (int d = 1; d <= DEPARTAMENTOS; d++) {
+            departamentos.add(new Object[]{(long) d, "Departamento " + d, "departamento " + d, "D" + d});
+        }
+        jdbc.batchUpdate("insert into departamentos (id, nome, nome_normalizado, sigla, ativo) values (?, ?, ?, ?, true)",
+                departamentos);
+
+        var funcionarios = new ArrayList<Object[]>(LOTE);
+        var trigramas = new ArrayList<Object[]>(LOTE * 10);
+        var admissao = Date.valueOf(LocalDate.of(2020, 1, 1));
+        for (int i = 1; i <= tamanho; i++) {
+            String cargo = CARGOS[i % CARGOS.length];
+            String normalizado = Trigramas.normalizar(cargo);
+            funcionarios.add(new Object[]{(long) i, nome(i), "func" + i + "@bench.com", "bench.com", cargo, normalizado,
+                    BigDecimal.valueOf(3000 + (i % 50) * 100L), admissao, i % 10 != 0, (long) (1 + i % DEPARTAMENTOS)});
+            for (String t : Trigramas.de(normalizado)) {
+                trigramas.add(new Object[]{(long) i, t});
+            }
+            if (funcionarios.size() == LOTE || i == tamanho) {
+                jdbc.batchUpdate("""
+                        insert into funcionarios (id, nome, email, email_dominio, cargo, cargo_normalizado, salario,
+                                                  data_admissao, ativo, departamento_id)
+                        values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                        """, funcionarios);
+                jdbc.batchUpdate("insert into funcionario_cargo_trigramas (funcionario_id, trigrama) values (?, ?)",
+                        trigramas);
+                funcionarios.clear();
+                trigramas.clear();
+            }
+        }
+        jdbc.execute("alter sequence departamentos_seq restart with " + (DEPARTAMENTOS + 1));
+        jdbc.execute("alter sequence funcionarios_seq restart with " + (tamanho + 1));
+        jdbc.execute("analyze");
+    }
+}
@@ -0,0 +1,81 @@
+package com.senai.jonatas.funcionarios.benchmark;
+
+import com.senai.jonatas.funcionarios.dto.FuncionarioRequest;
+import com.senai.jonatas.funcionarios.service.FuncionarioImportacaoService;
+import com.senai.jonatas.funcionarios.service.FuncionarioService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Escrita: cadastrar um a um (uma transação por funcionário) e importação em lote de 1.000 linhas.
+ * batchSize=1 desliga o batching JDBC para medir o ganho de hibernate.jdbc.batch_size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CadastroBenchmark {
+
+    private static final int LINHAS_IMPORTACAO = 1_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int tamanho;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private final AtomicLong sequencia = new AtomicLong(System.currentTimeMillis());
+
+    private ConfigurableApplicationContext contexto;
+
+    private FuncionarioService service;
+
+    private FuncionarioImportacaoService importacaoService;
+
+    @Setup
+    public void setUp() {
+        contexto = BenchmarkContexto.iniciar(tamanho, "spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        service = contexto.getBean(FuncionarioService.class);
+        importacaoService = contexto.getBean(FuncionarioImportacaoService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object cadastrar() {
+        long n = sequencia.incrementAndGet();
+        return service.cadastrar(new FuncionarioRequest(
+                "Novo Funcionario " + n, "novo" + n + "@bench.com", "Analista de Sistemas",
+                new BigDecimal("5000.00"), LocalDate.of(2023, 1, 10), 1 + n % BenchmarkContexto.DEPARTAMENTOS));
+    }
+
+    // Cada operação importa 1.000 funcionários
+    @Benchmark
+    public Object importarLote() throws IOException {
+        var ndjson = new StringBuilder(LINHAS_IMPORTACAO * 180);
+        for (int i = 0; i < LINHAS_IMPORTACAO; i++) {
+            long n = sequencia.incrementAndGet();
+            ndjson.append("{\"nome\":\"Importado ").append(n)
+                    .append("\",\"email\":\"importado").append(n).append("@bench.com\"")
+                    .append(",\"cargo\":\"Desenvolvedor Java\",\"salario\":6000.00")
+                    .append(",\"dataAdmissao\":\"2023-02-01\",\"departamentoId\":")
+                    .append(1 + n % BenchmarkContexto.DEPARTAMENTOS).append("}\n");
+        }
+        return importacaoService.importarNdjson(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,69 @@
+package com.senai.jonatas.funcionarios.benchmark;
+
+import com.senai.jonatas.funcionarios.entity.Funcionario;
+import com.senai.jonatas.funcionarios.service.FuncionarioService;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Busca de cargo por substring: LIKE com curinga no início sobre upper(cargo) (abordagem antiga,
+ * varredura + ordenação) contra o caminho pelo índice de trigramas usado por FuncionarioService.listar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CargoBuscaBenchmark {
+
+    @Param({"1000000"})
+    public int tamanho;
+
+    @Param({"engenheiro de dados", "financeiro", "rh"})
+    public String termo;
+
+    private ConfigurableApplicationContext contexto;
+
+    private FuncionarioService service;
+
+    private EntityManagerFactory entityManagerFactory;
+
+    @Setup
+    public void setUp() {
+        contexto = BenchmarkContexto.iniciar(tamanho);
+        service = contexto.getBean(FuncionarioService.class);
+        entityManagerFactory = contexto.getBean(EntityManagerFactory.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<Funcionario> likeComCuringaInicial() {
+        var em = entityManagerFactory.createEntityManager();
+        try {
+            return em.createQuery("""
+                            select f from Funcionario f join fetch f.departamento
+                            where upper(f.cargo) like upper(:padrao)
+                            order by f.nome asc, f.id asc
+                            """, Funcionario.class)
+                    .setParameter("padrao", "%" + termo + "%")
+                    .setMaxResults(50)
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+
+    @Benchmark
+    public Object indiceDeTrigramas() {
+        return service.listar(termo, null, null, 50);
+    }
+}
@@ -0,0 +1,80 @@
+package com.senai.jonatas.funcionarios.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga HTTP concorrente (256 clientes) contra o Tomcat em cada modo: "plataforma" (pool de 200 threads)
+ * e "virtual" (perfil virtual; exige rodar numa JVM 21+). O pool do Hikari tem o mesmo tamanho nos dois
+ * modos, então a diferença vem só do modelo de threads e da fila de espera do próprio Hikari.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(256)
+public class ConcorrenciaBenchmark {
+
+    @Param({"100000"})
+    public int tamanho;
+
+    @Param({"plataforma", "virtual"})
+    public String modo;
+
+    @Param({"20"})
+    public int pool;
+
+    private ConfigurableApplicationContext contexto;
+
+    private HttpClient cliente;
+
+    private String base;
+
+    @Setup
+    public void setUp() {
+        contexto = BenchmarkContexto.iniciar(tamanho,
+                "spring.main.web-application-type=servlet",
+                "server.port=0",
+                "server.tomcat.threads.max=200",
+                "spring.threads.virtual.enabled=" + "virtual".equals(modo),
+                "spring.datasource.hikari.maximum-pool-size=" + pool,
+                "funcionarios.sql-profiler.enabled=false");
+        base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port") + "/api/funcionarios";
+        cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public int buscarPorId() throws IOException, InterruptedException {
+        long id = 1 + ThreadLocalRandom.current().nextInt(tamanho);
+        return get(base + "/" + id);
+    }
+
+    @Benchmark
+    public int listarPrimeiraPagina() throws IOException, InterruptedException {
+        return get(base + "?ativo=true&limite=50");
+    }
+
+    private int get(String url) throws IOException, InterruptedException {
+        var resposta = cliente.send(HttpRequest.newBuilder(URI.create(url)).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + resposta.statusCode() + " em " + url);
+        }
+        return resposta.statusCode();
+    }
+}
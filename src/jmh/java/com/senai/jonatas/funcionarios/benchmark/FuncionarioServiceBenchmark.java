@@ -0,0 +1,70 @@
+package com.senai.jonatas.funcionarios.benchmark;
+
+import com.senai.jonatas.funcionarios.dto.FuncionarioResponse;
+import com.senai.jonatas.funcionarios.dto.PaginaResponse;
+import com.senai.jonatas.funcionarios.service.Cursor;
+import com.senai.jonatas.funcionarios.service.FuncionarioService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// FuncionarioService.listar em cada ramo de filtro, na primeira página e numa página do meio da tabela
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FuncionarioServiceBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    public int tamanho;
+
+    @Param({"50"})
+    public int limite;
+
+    private ConfigurableApplicationContext contexto;
+
+    private FuncionarioService service;
+
+    private String cursorMeio;
+
+    @Setup
+    public void setUp() {
+        contexto = BenchmarkContexto.iniciar(tamanho);
+        service = contexto.getBean(FuncionarioService.class);
+        int meio = tamanho / 2;
+        cursorMeio = Cursor.encode(BenchmarkContexto.nome(meio), meio);
+    }
+
+    @TearDown
+    public void tearDown() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public PaginaResponse<FuncionarioResponse> semFiltro() {
+        return service.listar(null, null, null, limite);
+    }
+
+    @Benchmark
+    public PaginaResponse<FuncionarioResponse> semFiltroPaginaDoMeio() {
+        return service.listar(null, null, cursorMeio, limite);
+    }
+
+    @Benchmark
+    public PaginaResponse<FuncionarioResponse> porAtivo() {
+        return service.listar(null, true, null, limite);
+    }
+
+    @Benchmark
+    public PaginaResponse<FuncionarioResponse> porCargo() {
+        return service.listar("engenheiro", null, null, limite);
+    }
+
+    @Benchmark
+    public PaginaResponse<FuncionarioResponse> porCargoEAtivo() {
+        return service.listar("engenheiro", true, null, limite);
+    }
+}
@@ -0,0 +1,60 @@
+package com.senai.jonatas.funcionarios.benchmark;
+
+import com.senai.jonatas.funcionarios.dto.DepartamentoResponse;
+import com.senai.jonatas.funcionarios.dto.FuncionarioResponse;
+import com.senai.jonatas.funcionarios.entity.Departamento;
+import com.senai.jonatas.funcionarios.entity.Funcionario;
+import com.senai.jonatas.funcionarios.mapper.DepartamentoMapper;
+import com.senai.jonatas.funcionarios.mapper.FuncionarioMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// Custo e alocação dos mappers; rode com -prof gc para ver gc.alloc.rate.norm (bytes/op)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MapperBenchmark {
+
+    private Funcionario funcionario;
+
+    private Departamento departamento;
+
+    private DepartamentoResponse departamentoResponse;
+
+    @Setup
+    public void setUp() {
+        departamento = Departamento.builder().nome("Tecnologia").sigla("TI").build();
+        departamento.setId(1L);
+        departamentoResponse = DepartamentoMapper.toResponse(departamento);
+        funcionario = Funcionario.builder()
+                .nome("Maria Silva")
+                .email("maria.silva@empresa.com")
+                .cargo("Analista de Sistemas")
+                .salario(new BigDecimal("7500.00"))
+                .dataAdmissao(LocalDate.of(2022, 5, 2))
+                .departamento(departamento)
+                .build();
+        funcionario.setId(42L);
+    }
+
+    @Benchmark
+    public FuncionarioResponse funcionarioToResponse() {
+        return FuncionarioMapper.toResponse(funcionario);
+    }
+
+    @Benchmark
+    public FuncionarioResponse funcionarioToResponseComDepartamentoEmCache() {
+        return FuncionarioMapper.toResponse(funcionario, departamentoResponse);
+    }
+
+    @Benchmark
+    public DepartamentoResponse departamentoToResponse() {
+        return DepartamentoMapper.toResponse(departamento);
+    }
+}
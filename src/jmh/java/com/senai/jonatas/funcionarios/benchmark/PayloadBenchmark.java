@@ -0,0 +1,123 @@
+package com.senai.jonatas.funcionarios.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.senai.jonatas.funcionarios.dto.FuncionarioResponse;
+import com.senai.jonatas.funcionarios.dto.PaginaResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialização de uma página de FuncionarioResponse em JSON x CBOR x Smile, com os mesmos mapeadores
+ * que a API usa (FormatosBinariosConfig), e o custo de gzip sobre o JSON (server.compression).
+ * Tamanhos (bruto e gzip) de cada formato saem no stdout do setup; rode com -prof gc para ver alocação.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PayloadBenchmark {
+
+    private static final TypeReference<PaginaResponse<FuncionarioResponse>> TIPO = new TypeReference<>() {};
+
+    @Param({"50", "500"})
+    public int itens;
+
+    private ObjectMapper json;
+
+    private ObjectMapper cbor;
+
+    private ObjectMapper smile;
+
+    private PaginaResponse<FuncionarioResponse> pagina;
+
+    private byte[] emJson;
+
+    private byte[] emCbor;
+
+    private byte[] emSmile;
+
+    @Setup
+    public void setUp() throws IOException {
+        json = mapeador().build();
+        cbor = mapeador().factory(new CBORFactory()).build();
+        smile = mapeador().factory(new SmileFactory()).build();
+
+        var lista = new ArrayList<FuncionarioResponse>(itens);
+        for (int i = 0; i < itens; i++) {
+            lista.add(new FuncionarioResponse((long) i + 1, "Funcionario " + i, "func" + i + "@empresa.com",
+                    i % 2 == 0 ? "Analista de Sistemas" : "Desenvolvedor", new BigDecimal("4200.00").add(BigDecimal.valueOf(i)),
+                    LocalDate.of(2020, 1, 1).plusDays(i), i % 5 != 0, (long) i % 10 + 1, "Departamento " + i % 10, "D" + i % 10));
+        }
+        pagina = new PaginaResponse<>(lista, "cursor-opaco");
+
+        emJson = json.writeValueAsBytes(pagina);
+        emCbor = cbor.writeValueAsBytes(pagina);
+        emSmile = smile.writeValueAsBytes(pagina);
+        System.out.printf("%nitens=%d bytes: json=%d (gzip %d) cbor=%d (gzip %d) smile=%d (gzip %d)%n", itens,
+                emJson.length, gzip(emJson).length, emCbor.length, gzip(emCbor).length,
+                emSmile.length, gzip(emSmile).length);
+    }
+
+    @Benchmark
+    public byte[] serializarJson() throws IOException {
+        return json.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] serializarCbor() throws IOException {
+        return cbor.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] serializarSmile() throws IOException {
+        return smile.writeValueAsBytes(pagina);
+    }
+
+    // JSON + gzip: o que sai hoje quando o cliente manda Accept-Encoding: gzip
+    @Benchmark
+    public byte[] serializarJsonGzip() throws IOException {
+        return gzip(json.writeValueAsBytes(pagina));
+    }
+
+    @Benchmark
+    public PaginaResponse<FuncionarioResponse> lerJson() throws IOException {
+        return json.readValue(emJson, TIPO);
+    }
+
+    @Benchmark
+    public PaginaResponse<FuncionarioResponse> lerCbor() throws IOException {
+        return cbor.readValue(emCbor, TIPO);
+    }
+
+    @Benchmark
+    public PaginaResponse<FuncionarioResponse> lerSmile() throws IOException {
+        return smile.readValue(emSmile, TIPO);
+    }
+
+    // Mesmas opções que o Spring Boot aplica por padrão (datas ISO, não timestamps)
+    private static Jackson2ObjectMapperBuilder mapeador() {
+        return Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static byte[] gzip(byte[] dados) throws IOException {
+        var saida = new ByteArrayOutputStream(dados.length / 4);
+        try (var gzip = new GZIPOutputStream(saida)) {
+            gzip.write(dados);
+        }
+        return saida.toByteArray();
+    }
+}
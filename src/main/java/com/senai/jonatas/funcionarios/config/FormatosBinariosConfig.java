@@ -0,0 +1,32 @@
+package com.senai.jonatas.funcionarios.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * CBOR (Accept: application/cbor) e Smile (Accept: application/x-jackson-smile) nos dois controllers,
+ * além do JSON. Os conversores partem do mesmo Jackson2ObjectMapperBuilder do Spring Boot, então datas e
+ * demais configurações spring.jackson.* saem iguais às do JSON; o padrão do Spring MVC ignoraria essas
+ * configurações. Para clientes que fazem leitura em massa: payload menor e parse mais barato
+ * (ver PayloadBenchmark).
+ */
+@Configuration
+public class FormatosBinariosConfig {
+
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,19 @@
+package com.senai.jonatas.funcionarios.config;
+
+import io.micrometer.core.instrument.Tags;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricasConfig {
+
+    // Estatísticas do Hibernate (consultas, entidades, cache, sessões) como métricas hibernate.*;
+    // depende de spring.jpa.properties.hibernate.generate_statistics=true
+    @Bean
+    public HibernateMetrics hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class), "funcionarios", Tags.empty());
+    }
+}
@@ -1,39 +1,94 @@
 package com.senai.jonatas.funcionarios.controller;
 
+import com.senai.jonatas.funcionarios.dto.BuscaEmLoteRequest;
+import com.senai.jonatas.funcionarios.dto.BuscaEmLoteResponse;
 import com.senai.jonatas.funcionarios.dto.DepartamentoRequest;
 import com.senai.jonatas.funcionarios.dto.DepartamentoResponse;
+import com.senai.jonatas.funcionarios.dto.EstatisticasDepartamentoResponse;
+import com.senai.jonatas.funcionarios.dto.FuncionarioResponse;
+import com.senai.jonatas.funcionarios.dto.InativacaoEmLoteResponse;
+import com.senai.jonatas.funcionarios.dto.PaginaResponse;
+import com.senai.jonatas.funcionarios.dto.VersaoRecurso;
 import com.senai.jonatas.funcionarios.service.DepartamentoService;
+import com.senai.jonatas.funcionarios.service.FuncionarioService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/departamentos")
-@CrossOrigin("*") // Configurar CORS mais restritivamente em produção
+// ETag/Last-Modified expostos para o front reenviar em If-Match/If-None-Match
+@CrossOrigin(origins = "*", exposedHeaders = {HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED}) // Configurar CORS mais restritivamente em produção
 public class DepartamentoController {
 
     private final DepartamentoService service;
 
-    public DepartamentoController(DepartamentoService service) {
+    private final FuncionarioService funcionarioService;
+
+    public DepartamentoController(DepartamentoService service, FuncionarioService funcionarioService) {
         this.service = service;
+        this.funcionarioService = funcionarioService;
     }
 
     @GetMapping
-    public ResponseEntity<List<DepartamentoResponse>> listarTodos() {
+    public ResponseEntity<List<DepartamentoResponse>> listarTodos(WebRequest webRequest) {
+        if (webRequest.checkNotModified(service.etagListagem())) {
+            return null;
+        }
         return ResponseEntity.ok(service.listarTodos());
     }
 
     @GetMapping("/ativos")
-    public ResponseEntity<List<DepartamentoResponse>> listarAtivos() {
+    public ResponseEntity<List<DepartamentoResponse>> listarAtivos(WebRequest webRequest) {
+        if (webRequest.checkNotModified(service.etagListagem())) {
+            return null;
+        }
         return ResponseEntity.ok(service.listarAtivos());
     }
 
+    // Quadro (ativos/inativos) e folha (soma, média, mínimo, máximo) agregados no banco.
+    // Mesmo ETag da listagem de funcionários: muda a cada gravação em funcionários ou departamentos.
+    @GetMapping("/estatisticas")
+    public ResponseEntity<List<EstatisticasDepartamentoResponse>> estatisticas(WebRequest webRequest) {
+        if (webRequest.checkNotModified(funcionarioService.etagListagem())) {
+            return null;
+        }
+        return ResponseEntity.ok(funcionarioService.estatisticasPorDepartamento());
+    }
+
+    @GetMapping("/{id}/estatisticas")
+    public ResponseEntity<EstatisticasDepartamentoResponse> estatisticasDoDepartamento(@PathVariable Long id,
+                                                                                     WebRequest webRequest) {
+        if (webRequest.checkNotModified(funcionarioService.etagListagem())) {
+            return null;
+        }
+        return ResponseEntity.ok(funcionarioService.estatisticasDoDepartamento(id));
+    }
+
+    // GET /api/departamentos?ids=3,1,2 ou POST /lookup; mesma resposta da busca em lote de funcionários
+    @GetMapping(params = "ids")
+    public ResponseEntity<BuscaEmLoteResponse<DepartamentoResponse>> buscarPorIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(service.buscarPorIds(ids));
+    }
+
+    @PostMapping("/lookup")
+    public ResponseEntity<BuscaEmLoteResponse<DepartamentoResponse>> buscarPorIds(
+            @Valid @RequestBody BuscaEmLoteRequest request) {
+        return ResponseEntity.ok(service.buscarPorIds(request.ids()));
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<DepartamentoResponse> buscarPorId(@PathVariable Long id) {
-        return ResponseEntity.ok(service.buscarPorId(id));
+    public ResponseEntity<DepartamentoResponse> buscarPorId(@PathVariable Long id, WebRequest webRequest) {
+        var versao = service.versao(id);
+        if (webRequest.checkNotModified(versao.etag(), versao.ultimaModificacao().toEpochMilli())) {
+            return null;
+        }
+        return ResponseEntity.ok(service.buscarPorId(id, versao.etag()));
     }
 
     @PostMapping
@@ -47,12 +102,38 @@ public class DepartamentoController {
 
     @PutMapping("/{id}")
     public ResponseEntity<DepartamentoResponse> atualizar(@PathVariable Long id,
+                                                          @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                           @Valid @RequestBody DepartamentoRequest request) {
-        return ResponseEntity.ok(service.atualizar(id, request));
+        var resultado = service.atualizar(id, request, VersaoRecurso.versaoDe(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(resultado.versao().etag())
+                .lastModified(resultado.versao().ultimaModificacao())
+                .body(resultado.body());
     }
 
     @PatchMapping("/{id}/inativar")
     public ResponseEntity<DepartamentoResponse> inativar(@PathVariable Long id) {
         return ResponseEntity.ok(service.inativar(id));
     }
+
+    // GET /api/departamentos/{id}/funcionarios?ativo=true&limite=50&cursor=...
+    // Funcionários do departamento por nome, paginados por keyset; mesma ETag da listagem de funcionários
+    @GetMapping("/{id}/funcionarios")
+    public ResponseEntity<PaginaResponse<FuncionarioResponse>> listarFuncionarios(
+            @PathVariable Long id,
+            @RequestParam(required = false) Boolean ativo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(funcionarioService.etagListagem())) {
+            return null;
+        }
+        return ResponseEntity.ok(funcionarioService.listarDoDepartamento(id, ativo, cursor, limite));
+    }
+
+    // Inativa todos os funcionários ativos do departamento com um único UPDATE
+    @PatchMapping("/{id}/funcionarios/inativar")
+    public ResponseEntity<InativacaoEmLoteResponse> inativarFuncionarios(@PathVariable Long id) {
+        return ResponseEntity.ok(funcionarioService.inativarPorDepartamento(id));
+    }
 }
\ No newline at end of file
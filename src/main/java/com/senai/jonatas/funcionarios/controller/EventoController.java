@@ -0,0 +1,26 @@
+package com.senai.jonatas.funcionarios.controller;
+
+import com.senai.jonatas.funcionarios.evento.EventoAlteracao;
+import com.senai.jonatas.funcionarios.evento.EventosHub;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/eventos")
+@CrossOrigin("*")
+public class EventoController {
+
+    private final EventosHub hub;
+
+    public EventoController(EventosHub hub) {
+        this.hub = hub;
+    }
+
+    // GET /api/eventos?recurso=FUNCIONARIO (sem recurso = funcionários e departamentos)
+    // Eventos "funcionario.cadastrado", "departamento.inativado" etc., com a resposta da operação em JSON
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter assinar(@RequestParam(required = false) EventoAlteracao.Recurso recurso) {
+        return hub.assinar(recurso);
+    }
+}
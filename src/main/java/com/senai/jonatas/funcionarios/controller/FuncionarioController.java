@@ -1,38 +1,127 @@
 package com.senai.jonatas.funcionarios.controller;
 
+import com.senai.jonatas.funcionarios.config.FormatosBinariosConfig;
+import com.senai.jonatas.funcionarios.dto.AlteracoesResponse;
+import com.senai.jonatas.funcionarios.dto.BuscaEmLoteRequest;
+import com.senai.jonatas.funcionarios.dto.BuscaEmLoteResponse;
+import com.senai.jonatas.funcionarios.dto.FiltroFuncionarios;
+import com.senai.jonatas.funcionarios.dto.FuncionarioAlteracao;
 import com.senai.jonatas.funcionarios.dto.FuncionarioRequest;
 import com.senai.jonatas.funcionarios.dto.FuncionarioResponse;
+import com.senai.jonatas.funcionarios.dto.ImportacaoResponse;
+import com.senai.jonatas.funcionarios.dto.InativacaoEmLoteRequest;
+import com.senai.jonatas.funcionarios.dto.InativacaoEmLoteResponse;
+import com.senai.jonatas.funcionarios.dto.VersaoRecurso;
+import com.senai.jonatas.funcionarios.service.FuncionarioExportacaoService;
+import com.senai.jonatas.funcionarios.service.FuncionarioImportacaoService;
+import com.senai.jonatas.funcionarios.service.ListagemCache;
 import com.senai.jonatas.funcionarios.service.FuncionarioService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springdoc.core.annotations.ParameterObject;
 import jakarta.validation.Valid;
 import org.springframework.http.*;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/funcionarios")
-@CrossOrigin("*")
+@CrossOrigin(origins = "*", exposedHeaders = {HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED})
 public class FuncionarioController {
 
+    private static final List<MediaType> FORMATOS_BINARIOS = List.of(MediaType.APPLICATION_CBOR,
+            MediaType.parseMediaType(FormatosBinariosConfig.APPLICATION_SMILE_VALUE));
+
+    private static final List<MediaType> FORMATOS_LISTAGEM = List.of(MediaType.APPLICATION_JSON,
+            FORMATOS_BINARIOS.get(0), FORMATOS_BINARIOS.get(1));
+
     private final FuncionarioService service;
 
-    public FuncionarioController(FuncionarioService service) {
+    private final FuncionarioImportacaoService importacaoService;
+
+    private final FuncionarioExportacaoService exportacaoService;
+
+    private final ListagemCache listagemCache;
+
+    private final Counter cadastrosCriados;
+
+    private final Counter cadastrosReativados;
+
+    public FuncionarioController(FuncionarioService service, FuncionarioImportacaoService importacaoService,
+                                 FuncionarioExportacaoService exportacaoService, ListagemCache listagemCache,
+                                 MeterRegistry registry) {
         this.service = service;
+        this.importacaoService = importacaoService;
+        this.exportacaoService = exportacaoService;
+        this.listagemCache = listagemCache;
+        this.cadastrosCriados = registry.counter("funcionarios.cadastro", "resultado", "criado");
+        this.cadastrosReativados = registry.counter("funcionarios.cadastro", "resultado", "reativado");
     }
 
-    // GET /api/funcionarios?cargo=Analista&ativo=true
-    @GetMapping
-    public ResponseEntity<List<FuncionarioResponse>> listar(
-            @RequestParam(required = false) String cargo,
-            @RequestParam(required = false) Boolean ativo) {
-        var lista = service.listar(cargo, ativo);
-        return ResponseEntity.ok(lista);
+    // GET /api/funcionarios?cargo=Analista&ativo=true&departamentoId=2&salarioMin=3000&salarioMax=8000
+    //     &admissaoDe=2020-01-01&admissaoAte=2023-12-31&nomePrefixo=Ana&emailDominio=empresa.com
+    //     &ordenarPor=SALARIO&direcao=DESC&limite=50&cursor=...
+    // Todos os filtros são opcionais. A próxima página é pedida repassando o proximoCursor da resposta anterior.
+    // ETag da coleção vem do contador de alterações: If-None-Match igual responde 304 sem consultar o banco.
+    // O corpo (PaginaResponse<FuncionarioResponse>) sai já serializado do ListagemCache. CBOR/Smile só quando
+    // o Accept pede explicitamente (sem Accept, */* ou Accept de navegador continua JSON) e sem o cache.
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE,
+            FormatosBinariosConfig.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<Object> listar(
+            @ParameterObject FiltroFuncionarios filtro,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limite,
+            @RequestHeader(name = HttpHeaders.ACCEPT, required = false) String accept,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(service.etagListagem())) {
+            return null;
+        }
+        int tamanho = service.tamanhoPagina(limite);
+        var resposta = ResponseEntity.ok().varyBy(HttpHeaders.ACCEPT);
+        var binario = formatoBinarioPedido(accept);
+        if (binario != null) {
+            return resposta.contentType(binario).body(service.listar(filtro, cursor, tamanho));
+        }
+        var pagina = listagemCache.obter(filtro, cursor, tamanho, () -> service.listar(filtro, cursor, tamanho));
+        return resposta.contentType(MediaType.APPLICATION_JSON).body(pagina);
     }
 
+    // GET /api/funcionarios?ids=3,1,2 (ou POST /lookup com a lista no corpo, para listas longas)
+    // Itens na ordem pedida; IDs inexistentes voltam em naoEncontrados
+    @GetMapping(params = "ids")
+    public ResponseEntity<BuscaEmLoteResponse<FuncionarioResponse>> buscarPorIds(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(service.buscarPorIds(ids));
+    }
+
+    @PostMapping("/lookup")
+    public ResponseEntity<BuscaEmLoteResponse<FuncionarioResponse>> buscarPorIds(
+            @Valid @RequestBody BuscaEmLoteRequest request) {
+        return ResponseEntity.ok(service.buscarPorIds(request.ids()));
+    }
+
+    // GET /api/funcionarios/changes?since=...&limite=500
+    // Feed para sincronização incremental: cada chamada custa O(alterações desde o token)
+    @GetMapping("/changes")
+    public ResponseEntity<AlteracoesResponse<FuncionarioAlteracao>> alteracoes(
+            @RequestParam(name = "since", required = false) String desde,
+            @RequestParam(required = false) Integer limite) {
+        return ResponseEntity.ok(service.alteracoes(desde, limite));
+    }
+
+    // 304 decidido só pela versão (consulta de versão, sem montar a resposta)
     @GetMapping("/{id}")
-    public ResponseEntity<FuncionarioResponse> buscarPorId(@PathVariable Long id) {
-        return ResponseEntity.ok(service.buscarPorId(id));
+    public ResponseEntity<FuncionarioResponse> buscarPorId(@PathVariable Long id, WebRequest webRequest) {
+        var versao = service.versao(id);
+        if (webRequest.checkNotModified(versao.etag(), versao.ultimaModificacao().toEpochMilli())) {
+            return null;
+        }
+        return ResponseEntity.ok(service.buscarPorId(id, versao.etag()));
     }
 
     @PostMapping
@@ -40,22 +129,85 @@ public class FuncionarioController {
                                                          UriComponentsBuilder uriBuilder) {
         var result = service.cadastrar(request);
         if (result.created()) {
+            cadastrosCriados.increment();
             var location = uriBuilder.path("/api/funcionarios/{id}")
                     .buildAndExpand(result.body().id()).toUri();
             return ResponseEntity.created(location).body(result.body()); // 201 Created
         }
         // Reativado: 200 OK
+        cadastrosReativados.increment();
         return ResponseEntity.ok(result.body());
     }
 
+    // Importação em massa: o corpo é lido em streaming, nunca carregado inteiro na memória
+    @PostMapping(path = "/importacao", consumes = "application/x-ndjson")
+    public ResponseEntity<ImportacaoResponse> importarNdjson(InputStream corpo) throws IOException {
+        return ResponseEntity.ok(importacaoService.importarNdjson(corpo));
+    }
+
+    @PostMapping(path = "/importacao", consumes = "text/csv")
+    public ResponseEntity<ImportacaoResponse> importarCsv(InputStream corpo) throws IOException {
+        return ResponseEntity.ok(importacaoService.importarCsv(corpo));
+    }
+
+    // Exportação do cadastro inteiro (formato pelo Accept), escrita em streaming na resposta
+    @GetMapping(path = "/exportacao", produces = "text/csv")
+    public void exportarCsv(@RequestParam(required = false) Boolean ativo, HttpServletResponse response) throws IOException {
+        prepararExportacao(response, "text/csv;charset=UTF-8", "funcionarios.csv");
+        exportacaoService.exportarCsv(ativo, response.getOutputStream());
+    }
+
+    @GetMapping(path = "/exportacao", produces = "application/x-ndjson")
+    public void exportarNdjson(@RequestParam(required = false) Boolean ativo, HttpServletResponse response) throws IOException {
+        prepararExportacao(response, "application/x-ndjson;charset=UTF-8", "funcionarios.ndjson");
+        exportacaoService.exportarNdjson(ativo, response.getOutputStream());
+    }
+
+    // Tipo do Accept com maior q entre JSON, CBOR e Smile (empate: o primeiro); binário só se for CBOR ou Smile
+    private static MediaType formatoBinarioPedido(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return null;
+        }
+        MediaType escolhido = null;
+        for (var tipo : MediaType.parseMediaTypes(accept)) {
+            boolean aceito = FORMATOS_LISTAGEM.stream().anyMatch(tipo::isCompatibleWith);
+            if (aceito && tipo.getQualityValue() > 0
+                    && (escolhido == null || tipo.getQualityValue() > escolhido.getQualityValue())) {
+                escolhido = tipo;
+            }
+        }
+        if (escolhido == null) {
+            return null;
+        }
+        return FORMATOS_BINARIOS.stream().filter(escolhido::equalsTypeAndSubtype).findFirst().orElse(null);
+    }
+
+    private static void prepararExportacao(HttpServletResponse response, String contentType, String arquivo) {
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(arquivo).build().toString());
+    }
+
+    // If-Match opcional: ETag diferente da versão atual responde 412
     @PutMapping("/{id}")
     public ResponseEntity<FuncionarioResponse> atualizar(@PathVariable Long id,
+                                                         @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                          @Valid @RequestBody FuncionarioRequest request) {
-        return ResponseEntity.ok(service.atualizar(id, request));
+        var resultado = service.atualizar(id, request, VersaoRecurso.versaoDe(ifMatch));
+        return ResponseEntity.ok()
+                .eTag(resultado.versao().etag())
+                .lastModified(resultado.versao().ultimaModificacao())
+                .body(resultado.body());
     }
 
     @PatchMapping("/{id}/inativar")
     public ResponseEntity<FuncionarioResponse> inativar(@PathVariable Long id) {
         return ResponseEntity.ok(service.inativar(id));
     }
+
+    // Inativa vários funcionários com um único UPDATE ... WHERE id IN (...)
+    @PatchMapping("/inativar")
+    public ResponseEntity<InativacaoEmLoteResponse> inativarEmLote(@Valid @RequestBody InativacaoEmLoteRequest request) {
+        return ResponseEntity.ok(service.inativarEmLote(request.ids()));
+    }
 }
@@ -0,0 +1,11 @@
+package com.senai.jonatas.funcionarios.dto;
+
+import java.util.List;
+
+// proximo nunca é null: é o since da próxima sincronização; temMais indica que já há outra página
+public record AlteracoesResponse<T>(
+        List<T> itens,
+        String proximo,
+        boolean temMais
+) {
+}
@@ -0,0 +1,14 @@
+package com.senai.jonatas.funcionarios.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BuscaEmLoteRequest(
+        @NotEmpty(message = "Informe ao menos um ID")
+        @Size(max = BuscaEmLoteResponse.MAXIMO_IDS, message = "Máximo de {max} IDs por busca")
+        List<@NotNull(message = "ID não pode ser nulo") Long> ids
+) {
+}
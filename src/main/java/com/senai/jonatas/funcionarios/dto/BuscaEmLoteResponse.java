@@ -0,0 +1,44 @@
+package com.senai.jonatas.funcionarios.dto;
+
+import com.senai.jonatas.funcionarios.exceptions.BusinessException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// itens na ordem dos IDs pedidos (repetidos aparecem uma vez); naoEncontrados lista os IDs sem registro
+public record BuscaEmLoteResponse<T>(
+        List<T> itens,
+        List<Long> naoEncontrados
+) {
+
+    public static final int MAXIMO_IDS = 10000;
+
+    public static <T> BuscaEmLoteResponse<T> naOrdem(Iterable<Long> ids, Map<Long, T> encontrados) {
+        var itens = new ArrayList<T>(encontrados.size());
+        var naoEncontrados = new ArrayList<Long>();
+        for (Long id : ids) {
+            var item = encontrados.get(id);
+            if (item != null) {
+                itens.add(item);
+            } else {
+                naoEncontrados.add(id);
+            }
+        }
+        return new BuscaEmLoteResponse<>(itens, naoEncontrados);
+    }
+
+    // Também cobre o GET ?ids=, que não passa pelas validações de BuscaEmLoteRequest (ex.: ?ids=1,,2)
+    public static List<Long> distintos(List<Long> ids) {
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new BusinessException("ID não pode ser nulo");
+        }
+        var distintos = List.copyOf(new LinkedHashSet<>(ids));
+        if (distintos.size() > MAXIMO_IDS) {
+            throw new BusinessException("Máximo de " + MAXIMO_IDS + " IDs por busca");
+        }
+        return distintos;
+    }
+}
@@ -0,0 +1,7 @@
+package com.senai.jonatas.funcionarios.dto;
+
+public record ErroImportacao(
+        long linha,
+        String mensagem
+) {
+}
@@ -0,0 +1,30 @@
+package com.senai.jonatas.funcionarios.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Quadro e folha de um departamento; valores salariais consideram só os funcionários ativos
+public record EstatisticasDepartamentoResponse(
+        Long departamentoId,
+        String departamentoNome,
+        String departamentoSigla,
+        long ativos,
+        long inativos,
+        BigDecimal somaSalarios,
+        BigDecimal mediaSalarial,
+        BigDecimal menorSalario,
+        BigDecimal maiorSalario
+) {
+
+    // Usado pela consulta agregada: a média sai da soma exata em BigDecimal, não do AVG do banco
+    public EstatisticasDepartamentoResponse(Long departamentoId, String departamentoNome, String departamentoSigla,
+                                            Long ativos, Long inativos, BigDecimal somaSalarios,
+                                            BigDecimal menorSalario, BigDecimal maiorSalario) {
+        this(departamentoId, departamentoNome, departamentoSigla, ativos, inativos,
+                somaSalarios == null ? BigDecimal.ZERO : somaSalarios,
+                ativos == 0 || somaSalarios == null
+                        ? null
+                        : somaSalarios.divide(BigDecimal.valueOf(ativos), 2, RoundingMode.HALF_EVEN),
+                menorSalario, maiorSalario);
+    }
+}
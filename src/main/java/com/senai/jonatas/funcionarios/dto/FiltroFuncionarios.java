@@ -0,0 +1,39 @@
+package com.senai.jonatas.funcionarios.dto;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Filtros de GET /api/funcionarios; todos opcionais, só os informados viram predicados no SQL
+public record FiltroFuncionarios(
+        String cargo,
+        Boolean ativo,
+        Long departamentoId,
+        BigDecimal salarioMin,
+        BigDecimal salarioMax,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate admissaoDe,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate admissaoAte,
+        String nomePrefixo,
+        String emailDominio,
+        OrdenacaoFuncionarios ordenarPor,
+        Sort.Direction direcao
+) {
+
+    public static FiltroFuncionarios porCargoEAtivo(String cargo, Boolean ativo) {
+        return new FiltroFuncionarios(cargo, ativo, null, null, null, null, null, null, null, null, null);
+    }
+
+    public static FiltroFuncionarios doDepartamento(Long departamentoId, Boolean ativo) {
+        return new FiltroFuncionarios(null, ativo, departamentoId, null, null, null, null, null, null, null, null);
+    }
+
+    public OrdenacaoFuncionarios ordenacaoOuPadrao() {
+        return ordenarPor != null ? ordenarPor : OrdenacaoFuncionarios.NOME;
+    }
+
+    public Sort.Direction direcaoOuPadrao() {
+        return direcao != null ? direcao : Sort.Direction.ASC;
+    }
+}
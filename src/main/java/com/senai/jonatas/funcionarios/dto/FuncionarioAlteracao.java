@@ -0,0 +1,21 @@
+package com.senai.jonatas.funcionarios.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+// Item do feed de alterações: FuncionarioResponse + versão e instante da alteração
+public record FuncionarioAlteracao(
+        Long id,
+        String nome,
+        String email,
+        String cargo,
+        BigDecimal salario,
+        LocalDate dataAdmissao,
+        Boolean ativo,
+        Long departamentoId,
+        String departamentoNome,
+        String departamentoSigla,
+        Long versao,
+        Instant atualizadoEm
+) {}
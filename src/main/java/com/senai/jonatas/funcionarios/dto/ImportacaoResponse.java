@@ -0,0 +1,13 @@
+package com.senai.jonatas.funcionarios.dto;
+
+import java.util.List;
+
+// erros traz no máximo funcionarios.importacao.max-erros itens; comErro tem o total
+public record ImportacaoResponse(
+        long processados,
+        long criados,
+        long reativados,
+        long comErro,
+        List<ErroImportacao> erros
+) {
+}
@@ -0,0 +1,12 @@
+package com.senai.jonatas.funcionarios.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public record InativacaoEmLoteRequest(
+        @NotEmpty(message = "Informe ao menos um ID")
+        List<@NotNull(message = "ID não pode ser nulo") Long> ids
+) {
+}
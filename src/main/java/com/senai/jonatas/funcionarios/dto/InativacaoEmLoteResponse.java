@@ -0,0 +1,7 @@
+package com.senai.jonatas.funcionarios.dto;
+
+// inativados conta só quem estava ativo; IDs inexistentes ou já inativos são ignorados
+public record InativacaoEmLoteResponse(
+        int inativados
+) {
+}
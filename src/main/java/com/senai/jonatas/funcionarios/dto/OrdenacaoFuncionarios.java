@@ -0,0 +1,58 @@
+package com.senai.jonatas.funcionarios.dto;
+
+import com.senai.jonatas.funcionarios.exceptions.BusinessException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+// Chaves de ordenação da listagem; cada uma tem índice (chave, id) para a paginação por keyset
+public enum OrdenacaoFuncionarios {
+
+    NOME("nome") {
+        @Override
+        public Comparable<?> valor(FuncionarioResponse f) { return f.nome(); }
+
+        @Override
+        Comparable<?> converter(String valor) { return valor; }
+    },
+    SALARIO("salario") {
+        @Override
+        public Comparable<?> valor(FuncionarioResponse f) { return f.salario(); }
+
+        @Override
+        Comparable<?> converter(String valor) { return new BigDecimal(valor); }
+    },
+    DATA_ADMISSAO("dataAdmissao") {
+        @Override
+        public Comparable<?> valor(FuncionarioResponse f) { return f.dataAdmissao(); }
+
+        @Override
+        Comparable<?> converter(String valor) { return LocalDate.parse(valor); }
+    };
+
+    private final String atributo;
+
+    OrdenacaoFuncionarios(String atributo) {
+        this.atributo = atributo;
+    }
+
+    // Atributo da entidade Funcionario
+    public String atributo() {
+        return atributo;
+    }
+
+    // Valor da chave na linha (gravado no cursor)
+    public abstract Comparable<?> valor(FuncionarioResponse f);
+
+    abstract Comparable<?> converter(String valor);
+
+    // Valor da chave lido de volta do cursor
+    public Comparable<?> doCursor(String valor) {
+        try {
+            return converter(valor);
+        } catch (NumberFormatException | DateTimeParseException ex) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
+    }
+}
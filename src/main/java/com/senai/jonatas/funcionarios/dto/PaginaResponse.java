@@ -0,0 +1,10 @@
+package com.senai.jonatas.funcionarios.dto;
+
+import java.util.List;
+
+// proximoCursor é null quando não há mais páginas
+public record PaginaResponse<T>(
+        List<T> itens,
+        String proximoCursor
+) {
+}
@@ -0,0 +1,42 @@
+package com.senai.jonatas.funcionarios.dto;
+
+import com.senai.jonatas.funcionarios.exceptions.PreconditionFailedException;
+
+import java.time.Instant;
+
+// ETag e instante da última alteração de um recurso (cabeçalhos ETag e Last-Modified).
+// O ETag de funcionário inclui a versão do departamento, cujo nome e sigla vão na resposta.
+// Fraco (W/) pelo mesmo motivo dos de ContadorAlteracoes: vale para todos os formatos e deixa o gzip agir.
+public record VersaoRecurso(String etag, Instant ultimaModificacao) {
+
+    public VersaoRecurso(Long versao, Instant atualizadoEm) {
+        this("W/\"" + versao + "\"", atualizadoEm);
+    }
+
+    public VersaoRecurso(Long versao, Long departamentoVersao, Instant atualizadoEm, Instant departamentoAtualizadoEm) {
+        this("W/\"" + versao + "-" + departamentoVersao + "\"",
+                atualizadoEm.isAfter(departamentoAtualizadoEm) ? atualizadoEm : departamentoAtualizadoEm);
+    }
+
+    // Versão da entidade esperada por um If-Match (null quando ausente ou "*"). Aceita o ETag como foi
+    // devolvido (W/"3-1"); a versão identifica o registro, não os bytes, então a comparação fraca basta.
+    public static Long versaoDe(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String valor = ifMatch.trim();
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
+        }
+        if (valor.length() < 2 || !valor.startsWith("\"") || !valor.endsWith("\"")) {
+            throw new PreconditionFailedException("If-Match inválido: " + ifMatch);
+        }
+        valor = valor.substring(1, valor.length() - 1);
+        int separador = valor.indexOf('-');
+        try {
+            return Long.parseLong(separador >= 0 ? valor.substring(0, separador) : valor);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match inválido: " + ifMatch);
+        }
+    }
+}
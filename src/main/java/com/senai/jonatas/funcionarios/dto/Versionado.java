@@ -0,0 +1,4 @@
+package com.senai.jonatas.funcionarios.dto;
+
+// Resposta de escrita acompanhada da nova versão, para o controller devolver o ETag atualizado
+public record Versionado<T>(T body, VersaoRecurso versao) {}
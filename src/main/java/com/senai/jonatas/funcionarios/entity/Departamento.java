@@ -4,24 +4,34 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 
 @Entity
 @Table(name = "departamentos", uniqueConstraints = {
-        @UniqueConstraint(name = "uk_departamento_nome", columnNames = "nome")
+        @UniqueConstraint(name = "uk_departamento_nome", columnNames = "nome_normalizado")
+}, indexes = {
+        @Index(name = "idx_departamento_ativo_nome", columnList = "ativo, nome")
 })
 public class Departamento {
 
+    // Sequência com otimizador pooled-lo: um round trip reserva 50 ids e os INSERTs podem ir em lote
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "departamento_seq")
+    @SequenceGenerator(name = "departamento_seq", sequenceName = "departamentos_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
-    @Column(nullable = false, unique = true)
+    @Column(nullable = false)
     private String nome;
 
+    // Chave de unicidade do nome (trim + minúsculas), mantida em normalize()
+    @Column(nullable = false)
+    private String nomeNormalizado;
+
     @NotBlank
     @Column(nullable = false, length = 10)
     private String sigla;
@@ -30,6 +40,14 @@ public class Departamento {
     @Column(nullable = false)
     private Boolean ativo = Boolean.TRUE;
 
+    // Bloqueio otimista e base do ETag; incrementada pelo Hibernate a cada UPDATE
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
+    // Last-Modified; mantido em normalize() e pelos UPDATEs em massa
+    @Column(nullable = false)
+    private Instant atualizadoEm;
 
     @OneToMany(mappedBy = "departamento", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Funcionario> funcionarios = new ArrayList<>();
@@ -53,6 +71,10 @@ public class Departamento {
         this.nome = nome;
     }
 
+    public String getNomeNormalizado() {
+        return nomeNormalizado;
+    }
+
     public String getSigla() {
         return sigla;
     }
@@ -69,6 +91,14 @@ public class Departamento {
         this.ativo = ativo;
     }
 
+    public Long getVersao() {
+        return versao;
+    }
+
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
+    }
+
     public List<Funcionario> getFuncionarios() {
         return funcionarios;
     }
@@ -80,7 +110,13 @@ public class Departamento {
     @PrePersist @PreUpdate
     private void normalize() {
         if (nome != null) nome = nome.trim();
+        nomeNormalizado = normalizarNome(nome);
         if (sigla != null) sigla = sigla.trim().toUpperCase();
+        atualizadoEm = Instant.now();
+    }
+
+    public static String normalizarNome(String nome) {
+        return nome == null ? null : nome.trim().toLowerCase(Locale.ROOT);
     }
 
 
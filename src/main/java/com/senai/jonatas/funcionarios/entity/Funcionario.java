@@ -5,28 +5,60 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Locale;
 import java.util.Objects; // Importar Objects para equals/hashCode
+import java.util.Set;
 
 @Entity
 @Table(name = "funcionarios", uniqueConstraints = {
         @UniqueConstraint(name = "uk_funcionario_email", columnNames = "email")
+}, indexes = {
+        @Index(name = "idx_funcionario_nome", columnList = "nome, id"),
+        @Index(name = "idx_funcionario_ativo_nome", columnList = "ativo, nome, id"),
+        @Index(name = "idx_funcionario_departamento_ativo", columnList = "departamento_id, ativo"),
+        @Index(name = "idx_funcionario_departamento_nome", columnList = "departamento_id, nome, id"),
+        @Index(name = "idx_funcionario_cargo_normalizado", columnList = "cargo_normalizado"),
+        @Index(name = "idx_funcionario_atualizado_em", columnList = "atualizado_em, id"),
+        @Index(name = "idx_funcionario_email_dominio", columnList = "email_dominio, nome, id"),
+        @Index(name = "idx_funcionario_salario", columnList = "salario, id"),
+        @Index(name = "idx_funcionario_data_admissao", columnList = "data_admissao, id")
 })
 public class Funcionario {
 
+    // Sequência com otimizador pooled-lo: um round trip reserva 50 ids e os INSERTs podem ir em lote
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "funcionario_seq")
+    @SequenceGenerator(name = "funcionario_seq", sequenceName = "funcionarios_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
     private String nome;
 
+    // Sempre gravado em minúsculas (normalize), então a busca por e-mail usa o índice único direto
     @Column(nullable = false, length = 200, unique = true)
     private String email;
 
+    // Parte do e-mail depois do @, mantida em normalize() para o filtro por domínio
+    @Column(length = 200)
+    private String emailDominio;
+
     @Column(nullable = false)
     private String cargo;
 
+    // Cargo em minúsculas e seus trigramas, mantidos em normalize() para a busca por substring
+    @Column(length = 255)
+    private String cargoNormalizado;
+
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "funcionario_cargo_trigramas",
+            joinColumns = @JoinColumn(name = "funcionario_id", foreignKey = @ForeignKey(name = "fk_trigrama_funcionario")),
+            indexes = @Index(name = "idx_cargo_trigrama", columnList = "trigrama, funcionario_id"))
+    @Column(name = "trigrama", nullable = false, length = Trigramas.TAMANHO)
+    private Set<String> cargoTrigramas = new HashSet<>();
+
     @Column(nullable = false, precision = 16, scale = 2)
     private BigDecimal salario;
 
@@ -43,6 +75,15 @@ public class Funcionario {
     @JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "funcionarios"})
     private Departamento departamento;
 
+    // Bloqueio otimista e base do ETag; incrementada pelo Hibernate a cada UPDATE
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
+    // Last-Modified; mantido em normalize() e pelos UPDATEs em massa
+    @Column(nullable = false)
+    private Instant atualizadoEm;
+
     public Funcionario() {
     }
 
@@ -52,8 +93,10 @@ public class Funcionario {
     public void setNome(String nome) { this.nome = nome; }
     public String getEmail() { return email; }
     public void setEmail(String email) { this.email = email; }
+    public String getEmailDominio() { return emailDominio; }
     public String getCargo() { return cargo; }
     public void setCargo(String cargo) { this.cargo = cargo; }
+    public String getCargoNormalizado() { return cargoNormalizado; }
     public BigDecimal getSalario() { return salario; }
     public void setSalario(BigDecimal salario) { this.salario = salario; }
     public LocalDate getDataAdmissao() { return dataAdmissao; }
@@ -62,13 +105,35 @@ public class Funcionario {
     public void setAtivo(Boolean ativo) { this.ativo = ativo; }
     public Departamento getDepartamento() { return departamento; }
     public void setDepartamento(Departamento departamento) { this.departamento = departamento; }
+    public Long getVersao() { return versao; }
+    public Instant getAtualizadoEm() { return atualizadoEm; }
 
 
     @PrePersist @PreUpdate
     private void normalize() {
         if (nome != null) nome = nome.trim();
-        if (email != null) email = email.trim().toLowerCase();
-        if (cargo != null) cargo = cargo.trim();
+        if (email != null) {
+            email = email.trim().toLowerCase();
+            emailDominio = dominioDoEmail(email);
+        }
+        if (cargo != null) {
+            cargo = cargo.trim();
+            reindexarCargo();
+        }
+        atualizadoEm = Instant.now();
+    }
+
+    public static String dominioDoEmail(String email) {
+        int arroba = email.lastIndexOf('@');
+        return arroba < 0 ? null : email.substring(arroba + 1).trim().toLowerCase(Locale.ROOT);
+    }
+
+    public void reindexarCargo() {
+        cargoNormalizado = Trigramas.normalizar(cargo);
+        Set<String> atuais = Trigramas.de(cargoNormalizado);
+        // Altera o conjunto no lugar para o Hibernate gravar só a diferença
+        cargoTrigramas.retainAll(atuais);
+        cargoTrigramas.addAll(atuais);
     }
 
 
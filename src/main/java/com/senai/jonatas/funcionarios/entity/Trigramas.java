@@ -0,0 +1,31 @@
+package com.senai.jonatas.funcionarios.entity;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Normalização e quebra em trigramas usadas pela busca de cargo.
+ * Um termo com 3+ caracteres só pode estar contido em um cargo que possua todos os seus trigramas.
+ */
+public final class Trigramas {
+
+    public static final int TAMANHO = 3;
+
+    private Trigramas() {}
+
+    public static String normalizar(String texto) {
+        return texto == null ? null : texto.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static Set<String> de(String normalizado) {
+        Set<String> trigramas = new LinkedHashSet<>();
+        if (normalizado == null) {
+            return trigramas;
+        }
+        for (int i = 0; i + TAMANHO <= normalizado.length(); i++) {
+            trigramas.add(normalizado.substring(i, i + TAMANHO));
+        }
+        return trigramas;
+    }
+}
@@ -0,0 +1,45 @@
+package com.senai.jonatas.funcionarios.evento;
+
+import com.senai.jonatas.funcionarios.dto.DepartamentoResponse;
+import com.senai.jonatas.funcionarios.dto.FuncionarioResponse;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Alteração publicada pelos services (ApplicationEventPublisher) e entregue por SSE depois do commit.
+ * dados é a resposta da operação; em operações em massa, só as quantidades (detalhes em /changes).
+ */
+public record EventoAlteracao(Recurso recurso, Acao acao, Long id, Object dados, Instant instante) {
+
+    public enum Recurso { FUNCIONARIO, DEPARTAMENTO }
+
+    public enum Acao { CADASTRADO, REATIVADO, ATUALIZADO, INATIVADO, INATIVADOS_EM_LOTE, IMPORTADOS }
+
+    public static EventoAlteracao funcionario(Acao acao, FuncionarioResponse dados) {
+        return new EventoAlteracao(Recurso.FUNCIONARIO, acao, dados.id(), dados, Instant.now());
+    }
+
+    public static EventoAlteracao departamento(Acao acao, DepartamentoResponse dados) {
+        return new EventoAlteracao(Recurso.DEPARTAMENTO, acao, dados.id(), dados, Instant.now());
+    }
+
+    // departamentoId é null quando a inativação foi por lista de ids
+    public static EventoAlteracao inativacaoEmLote(int inativados, Long departamentoId) {
+        return new EventoAlteracao(Recurso.FUNCIONARIO, Acao.INATIVADOS_EM_LOTE, null,
+                departamentoId == null
+                        ? Map.of("inativados", inativados)
+                        : Map.of("inativados", inativados, "departamentoId", departamentoId),
+                Instant.now());
+    }
+
+    public static EventoAlteracao importacao(long criados, long reativados) {
+        return new EventoAlteracao(Recurso.FUNCIONARIO, Acao.IMPORTADOS, null,
+                Map.of("criados", criados, "reativados", reativados), Instant.now());
+    }
+
+    // Nome do evento SSE, ex.: "funcionario.cadastrado"
+    public String nome() {
+        return recurso.name().toLowerCase() + "." + acao.name().toLowerCase();
+    }
+}
@@ -0,0 +1,302 @@
+package com.senai.jonatas.funcionarios.evento;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senai.jonatas.funcionarios.exceptions.LimiteAssinantesException;
+import com.senai.jonatas.funcionarios.exceptions.TempoEsgotadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Distribui os {@link EventoAlteracao} (recebidos depois do commit) para os assinantes SSE.
+ * <p>
+ * Cada assinante tem uma fila limitada; quem publica só enfileira e nunca espera por um cliente lento.
+ * O envio roda num pool pequeno, no máximo uma tarefa por assinante de cada vez. Com a fila cheia o
+ * evento mais antigo é descartado e o cliente recebe um evento "descartados" na próxima entrega,
+ * sinal para ressincronizar por GET /api/funcionarios/changes.
+ * <p>
+ * {@code SseEmitter.send} bloqueia enquanto o cliente não lê. Cada envio corre como bloqueio gerenciado
+ * do {@link ForkJoinPool}, que põe outra thread no lugar da que espera, e tem prazo
+ * ({@code funcionarios.eventos.timeout-envio}): passado o prazo o assinante sai da lista e o emitter
+ * é encerrado com erro.
+ */
+@Component
+public class EventosHub {
+
+    private static final Logger log = LoggerFactory.getLogger(EventosHub.class);
+
+    private final Set<Assinante> assinantes = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong sequencia = new AtomicLong();
+
+    private final ObjectMapper objectMapper;
+
+    private final int capacidade;
+
+    private final int maxAssinantes;
+
+    private final long timeoutMs;
+
+    private final long timeoutEnvioNs;
+
+    private final ForkJoinPool envio;
+
+    private final ScheduledExecutorService agendador;
+
+    private final Counter descartados;
+
+    private final Counter enviosTravados;
+
+    public EventosHub(ObjectMapper objectMapper, MeterRegistry registry,
+                      @Value("${funcionarios.eventos.buffer:256}") int capacidade,
+                      @Value("${funcionarios.eventos.max-assinantes:10000}") int maxAssinantes,
+                      @Value("${funcionarios.eventos.threads:4}") int threads,
+                      @Value("${funcionarios.eventos.timeout:30m}") Duration timeout,
+                      @Value("${funcionarios.eventos.timeout-envio:10s}") Duration timeoutEnvio,
+                      @Value("${funcionarios.eventos.heartbeat:30s}") Duration intervaloHeartbeat) {
+        this.objectMapper = objectMapper;
+        this.capacidade = capacidade;
+        this.maxAssinantes = maxAssinantes;
+        this.timeoutMs = timeout.toMillis();
+        this.timeoutEnvioNs = timeoutEnvio.toNanos();
+        var contador = new AtomicInteger();
+        // threads é o paralelismo; as threads de compensação dos envios bloqueados ficam por conta do pool
+        this.envio = new ForkJoinPool(threads, pool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("sse-envio-" + contador.incrementAndGet());
+            return thread;
+        }, null, true);
+        this.agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            var thread = new Thread(r, "sse-agendador");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.agendador.scheduleAtFixedRate(this::enviarHeartbeat, intervaloHeartbeat.toMillis(),
+                intervaloHeartbeat.toMillis(), TimeUnit.MILLISECONDS);
+        long verificacao = Math.max(10, timeoutEnvio.toMillis() / 2);
+        this.agendador.scheduleAtFixedRate(this::encerrarEnviosTravados, verificacao, verificacao, TimeUnit.MILLISECONDS);
+        this.descartados = registry.counter("eventos.descartados");
+        this.enviosTravados = registry.counter("eventos.envios.travados");
+        registry.gauge("eventos.assinantes", assinantes, Set::size);
+    }
+
+    // recurso null = todos os eventos
+    public SseEmitter assinar(EventoAlteracao.Recurso recurso) {
+        if (assinantes.size() >= maxAssinantes) {
+            throw new LimiteAssinantesException("Limite de assinantes de eventos atingido");
+        }
+        var emitter = novoEmitter(timeoutMs);
+        var assinante = new Assinante(emitter, recurso, new ArrayBlockingQueue<>(capacidade));
+        emitter.onCompletion(() -> assinantes.remove(assinante));
+        emitter.onTimeout(() -> assinantes.remove(assinante));
+        emitter.onError(e -> assinantes.remove(assinante));
+        assinantes.add(assinante);
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void publicar(EventoAlteracao evento) {
+        if (assinantes.isEmpty()) {
+            return;
+        }
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(evento); // uma serialização para todos os assinantes
+        } catch (JsonProcessingException e) {
+            log.warn("Evento não serializado: {}", evento, e);
+            return;
+        }
+        var mensagem = new Mensagem(sequencia.incrementAndGet(), evento.nome(), json);
+        for (Assinante assinante : assinantes) {
+            if (assinante.recurso() == null || assinante.recurso() == evento.recurso()) {
+                enfileirar(assinante, mensagem);
+            }
+        }
+    }
+
+    int quantidadeAssinantes() {
+        return assinantes.size();
+    }
+
+    // Os testes trocam o emitter por um que simula cliente que não lê
+    SseEmitter novoEmitter(long timeoutMs) {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private void enfileirar(Assinante assinante, Mensagem mensagem) {
+        while (!assinante.fila().offer(mensagem)) {
+            // Fila cheia: descarta o mais antigo
+            if (assinante.fila().poll() != null) {
+                assinante.descartados().incrementAndGet();
+                descartados.increment();
+            }
+        }
+        agendar(assinante);
+    }
+
+    private void agendar(Assinante assinante) {
+        if (assinante.agendado().compareAndSet(false, true)) {
+            envio.execute(() -> drenar(assinante));
+        }
+    }
+
+    private void drenar(Assinante assinante) {
+        try {
+            long perdidos = assinante.descartados().getAndSet(0);
+            if (perdidos > 0) {
+                enviar(assinante, SseEmitter.event().name("descartados").data(perdidos));
+            }
+            Mensagem mensagem;
+            while ((mensagem = assinante.fila().poll()) != null) {
+                enviar(assinante, SseEmitter.event()
+                        .id(Long.toString(mensagem.id()))
+                        .name(mensagem.nome())
+                        .data(mensagem.json(), MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Cliente desconectou; onError/onCompletion removem o assinante
+            assinantes.remove(assinante);
+            assinante.fila().clear();
+        } finally {
+            assinante.agendado().set(false);
+        }
+        // Eventos que chegaram entre o último poll e a liberação do agendamento
+        if (!assinante.fila().isEmpty() && assinantes.contains(assinante)) {
+            agendar(assinante);
+        }
+    }
+
+    private void enviarHeartbeat() {
+        for (Assinante assinante : assinantes) {
+            if (assinante.fila().isEmpty() && !assinante.agendado().get()) {
+                envio.execute(() -> {
+                    try {
+                        enviar(assinante, SseEmitter.event().comment("heartbeat"));
+                    } catch (IOException | IllegalStateException e) {
+                        assinantes.remove(assinante);
+                    }
+                });
+            }
+        }
+    }
+
+    private void enviar(Assinante assinante, SseEmitter.SseEventBuilder evento) throws IOException {
+        assinante.enviandoDesde().set(System.nanoTime());
+        try {
+            bloqueando(() -> assinante.emitter().send(evento));
+        } finally {
+            assinante.enviandoDesde().set(0);
+        }
+    }
+
+    // Assinante com envio parado além do prazo deixa de receber eventos. completeWithError espera o
+    // writeLock do emitter, preso no envio travado, por isso roda no pool de envio e não no agendador.
+    private void encerrarEnviosTravados() {
+        long agora = System.nanoTime();
+        for (Assinante assinante : assinantes) {
+            long desde = assinante.enviandoDesde().get();
+            if (desde != 0 && agora - desde > timeoutEnvioNs && assinantes.remove(assinante)) {
+                assinante.fila().clear();
+                enviosTravados.increment();
+                log.debug("Assinante SSE sem ler há mais de {} ms; encerrando", TimeUnit.NANOSECONDS.toMillis(timeoutEnvioNs));
+                envio.execute(() -> {
+                    try {
+                        bloqueando(() -> assinante.emitter().completeWithError(
+                                new TempoEsgotadoException("Cliente não recebeu o evento dentro do prazo")));
+                    } catch (IOException e) {
+                        // completeWithError não escreve no socket
+                    }
+                });
+            }
+        }
+    }
+
+    // Executa a escrita como bloqueio gerenciado: enquanto ela espera o cliente, o ForkJoinPool
+    // compensa com outra thread e os envios dos demais assinantes continuam
+    private static void bloqueando(Escrita escrita) throws IOException {
+        var bloqueio = new Bloqueio(escrita);
+        try {
+            ForkJoinPool.managedBlock(bloqueio);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Envio interrompido");
+        }
+        if (bloqueio.erro != null) {
+            throw bloqueio.erro;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Escrita {
+        void executar() throws IOException;
+    }
+
+    private static final class Bloqueio implements ForkJoinPool.ManagedBlocker {
+
+        private final Escrita escrita;
+        private boolean feito;
+        private IOException erro;
+
+        Bloqueio(Escrita escrita) {
+            this.escrita = escrita;
+        }
+
+        @Override
+        public boolean block() {
+            try {
+                escrita.executar();
+            } catch (IOException e) {
+                erro = e;
+            } finally {
+                feito = true;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isReleasable() {
+            return feito;
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        agendador.shutdownNow();
+        envio.shutdownNow();
+        assinantes.forEach(a -> a.emitter().complete());
+        assinantes.clear();
+    }
+
+    private record Mensagem(long id, String nome, String json) {}
+
+    // enviandoDesde: System.nanoTime() do início do envio em andamento, 0 sem envio
+    private record Assinante(SseEmitter emitter, EventoAlteracao.Recurso recurso, ArrayBlockingQueue<Mensagem> fila,
+                             AtomicBoolean agendado, AtomicLong descartados, AtomicLong enviandoDesde) {
+        Assinante(SseEmitter emitter, EventoAlteracao.Recurso recurso, ArrayBlockingQueue<Mensagem> fila) {
+            this(emitter, recurso, fila, new AtomicBoolean(), new AtomicLong(), new AtomicLong());
+        }
+    }
+}
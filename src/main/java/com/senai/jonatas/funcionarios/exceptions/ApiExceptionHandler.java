@@ -1,7 +1,10 @@
 package com.senai.jonatas.funcionarios.exceptions;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -9,28 +12,72 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.time.OffsetDateTime;
+import java.util.Locale;
 
 @RestControllerAdvice
 public class ApiExceptionHandler {
 
+    private final MeterRegistry registry;
+
+    public ApiExceptionHandler(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ApiError> handleNotFound(ResourceNotFoundException ex, HttpServletRequest req) {
-        return build(HttpStatus.NOT_FOUND, ex.getMessage(), req);
+        return build(HttpStatus.NOT_FOUND, ex.getMessage(), req, ex);
     }
 
     @ExceptionHandler(EmailConflictException.class)
     public ResponseEntity<ApiError> handleConflict(EmailConflictException ex, HttpServletRequest req) {
-        return build(HttpStatus.CONFLICT, ex.getMessage(), req);
+        return build(HttpStatus.CONFLICT, ex.getMessage(), req, ex);
     }
 
     @ExceptionHandler(NomeConflictException.class)
     public ResponseEntity<ApiError> handleNomeConflict(NomeConflictException ex, HttpServletRequest req) {
-        return build(HttpStatus.CONFLICT, ex.getMessage(), req);
+        return build(HttpStatus.CONFLICT, ex.getMessage(), req, ex);
+    }
+
+    // Constraints do banco são a garantia final de unicidade (ex.: duas requisições simultâneas
+    // que passaram pela checagem prévia do service)
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ApiError> handleIntegrity(DataIntegrityViolationException ex, HttpServletRequest req) {
+        var causa = String.valueOf(ex.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT);
+        if (causa.contains("uk_departamento_nome")) {
+            return handleNomeConflict(new NomeConflictException("Nome de departamento já cadastrado"), req);
+        }
+        if (causa.contains("uk_funcionario_email")) {
+            return handleConflict(new EmailConflictException("E-mail já cadastrado"), req);
+        }
+        return build(HttpStatus.CONFLICT, "Operação viola uma restrição de integridade", req, ex);
+    }
+
+    // If-Match com versão diferente da atual
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiError> handlePrecondition(PreconditionFailedException ex, HttpServletRequest req) {
+        return build(HttpStatus.PRECONDITION_FAILED, ex.getMessage(), req, ex);
+    }
+
+    // @Version: outra requisição gravou a mesma linha entre a leitura e o UPDATE
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ApiError> handleOptimisticLock(OptimisticLockingFailureException ex, HttpServletRequest req) {
+        return build(HttpStatus.CONFLICT, "Registro alterado por outra requisição; recarregue e tente novamente", req, ex);
+    }
+
+    @ExceptionHandler(LimiteAssinantesException.class)
+    public ResponseEntity<ApiError> handleLimiteAssinantes(LimiteAssinantesException ex, HttpServletRequest req) {
+        return build(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), req, ex);
+    }
+
+    // Consulta compartilhada (SingleFlight) não terminou dentro do timeout
+    @ExceptionHandler(TempoEsgotadoException.class)
+    public ResponseEntity<ApiError> handleTempoEsgotado(TempoEsgotadoException ex, HttpServletRequest req) {
+        return build(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage(), req, ex);
     }
 
     @ExceptionHandler(BusinessException.class)
     public ResponseEntity<ApiError> handleBusiness(BusinessException ex, HttpServletRequest req) {
-        return build(HttpStatus.BAD_REQUEST, ex.getMessage(), req);
+        return build(HttpStatus.BAD_REQUEST, ex.getMessage(), req, ex);
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
@@ -39,7 +86,7 @@ public class ApiExceptionHandler {
                 .map(fe -> fe.getField() + ": " + fe.getDefaultMessage())
                 .findFirst()
                 .orElse("Dados inválidos");
-        return build(HttpStatus.BAD_REQUEST, msg, req);
+        return build(HttpStatus.BAD_REQUEST, msg, req, ex);
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
@@ -47,15 +94,17 @@ public class ApiExceptionHandler {
         var msg = ex.getConstraintViolations().stream()
                 .map(v -> v.getPropertyPath() + ": " + v.getMessage())
                 .findFirst().orElse("Dados inválidos");
-        return build(HttpStatus.BAD_REQUEST, msg, req);
+        return build(HttpStatus.BAD_REQUEST, msg, req, ex);
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleGeneric(Exception ex, HttpServletRequest req) {
-        return build(HttpStatus.INTERNAL_SERVER_ERROR, "Erro interno", req);
+        return build(HttpStatus.INTERNAL_SERVER_ERROR, "Erro interno", req, ex);
     }
 
-    private ResponseEntity<ApiError> build(HttpStatus status, String message, HttpServletRequest req) {
+    private ResponseEntity<ApiError> build(HttpStatus status, String message, HttpServletRequest req, Exception ex) {
+        registry.counter("api.erros", "tipo", ex.getClass().getSimpleName(), "status", String.valueOf(status.value()))
+                .increment();
         var body = new ApiError(
                 status.value(),
                 status.getReasonPhrase(),
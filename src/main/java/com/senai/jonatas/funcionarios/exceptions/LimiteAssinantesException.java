@@ -0,0 +1,5 @@
+package com.senai.jonatas.funcionarios.exceptions;
+
+public class LimiteAssinantesException extends RuntimeException {
+    public LimiteAssinantesException(String message) { super(message); }
+}
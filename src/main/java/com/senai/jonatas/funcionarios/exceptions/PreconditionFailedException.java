@@ -0,0 +1,5 @@
+package com.senai.jonatas.funcionarios.exceptions;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) { super(message); }
+}
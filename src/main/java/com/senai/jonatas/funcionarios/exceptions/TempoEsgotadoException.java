@@ -0,0 +1,5 @@
+package com.senai.jonatas.funcionarios.exceptions;
+
+public class TempoEsgotadoException extends RuntimeException {
+    public TempoEsgotadoException(String message) { super(message); }
+}
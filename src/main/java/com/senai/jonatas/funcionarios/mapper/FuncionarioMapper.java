@@ -1,6 +1,7 @@
 package com.senai.jonatas.funcionarios.mapper;
 
 
+import com.senai.jonatas.funcionarios.dto.DepartamentoResponse;
 import com.senai.jonatas.funcionarios.dto.FuncionarioRequest;
 import com.senai.jonatas.funcionarios.dto.FuncionarioResponse;
 import com.senai.jonatas.funcionarios.entity.Funcionario;
@@ -40,4 +41,13 @@ public final class FuncionarioMapper {
                 deptoId, deptoNome, deptoSigla
         );
     }
+
+    // Usa os dados do departamento já em mãos (ex.: do cache) em vez de inicializar o proxy lazy
+    public static FuncionarioResponse toResponse(Funcionario e, DepartamentoResponse depto) {
+        return new FuncionarioResponse(
+                e.getId(), e.getNome(), e.getEmail(),
+                e.getCargo(), e.getSalario(), e.getDataAdmissao(), e.getAtivo(),
+                depto.id(), depto.nome(), depto.sigla()
+        );
+    }
 }
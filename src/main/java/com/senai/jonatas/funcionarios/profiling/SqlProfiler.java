@@ -0,0 +1,107 @@
+package com.senai.jonatas.funcionarios.profiling;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Listener do datasource-proxy: conta instruções e tempo de JDBC da requisição corrente
+ * (contexto aberto pelo {@link SqlProfilerFilter}) e registra em log as instruções lentas
+ * com seus parâmetros.
+ */
+public class SqlProfiler implements QueryExecutionListener {
+
+    static final String MDC_QUANTIDADE = "sqlCount";
+    static final String MDC_TEMPO = "sqlTimeMs";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlProfiler.class);
+
+    private final ThreadLocal<Contexto> atual = new ThreadLocal<>();
+
+    private final long limiteLentoMs;
+
+    public SqlProfiler(Duration limiteLento) {
+        this.limiteLentoMs = limiteLento.toMillis();
+    }
+
+    // Instruções e tempo acumulados numa requisição; porFormato agrupa pelo texto SQL (parâmetros são '?')
+    public static final class Contexto {
+        private int quantidade;
+        private long tempoMs;
+        private final Map<String, Integer> porFormato = new HashMap<>();
+
+        public int quantidade() { return quantidade; }
+        public long tempoMs() { return tempoMs; }
+        public Map<String, Integer> porFormato() { return porFormato; }
+    }
+
+    void iniciar() {
+        atual.set(new Contexto());
+        MDC.put(MDC_QUANTIDADE, "0");
+        MDC.put(MDC_TEMPO, "0");
+    }
+
+    Contexto contexto() {
+        return atual.get();
+    }
+
+    Contexto finalizar() {
+        var contexto = atual.get();
+        atual.remove();
+        MDC.remove(MDC_QUANTIDADE);
+        MDC.remove(MDC_TEMPO);
+        return contexto;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long tempo = execInfo.getElapsedTime();
+        var contexto = atual.get();
+        if (contexto != null) {
+            contexto.quantidade++;
+            contexto.tempoMs += tempo;
+            for (QueryInfo query : queryInfoList) {
+                contexto.porFormato.merge(query.getQuery(), 1, Integer::sum);
+            }
+            MDC.put(MDC_QUANTIDADE, String.valueOf(contexto.quantidade));
+            MDC.put(MDC_TEMPO, String.valueOf(contexto.tempoMs));
+        }
+        if (tempo >= limiteLentoMs) {
+            for (QueryInfo query : queryInfoList) {
+                log.warn("SQL lenta ({} ms{}): {} parametros={}{}", tempo,
+                        execInfo.isBatch() ? ", lote de " + execInfo.getBatchSize() : "",
+                        query.getQuery(), parametros(query), totais(contexto));
+            }
+        }
+    }
+
+    // Totais da requisição até esta instrução (fora de requisição HTTP não há contexto)
+    private static String totais(Contexto contexto) {
+        return contexto == null ? ""
+                : " [sql=" + contexto.quantidade + " " + contexto.tempoMs + "ms na requisição]";
+    }
+
+    private static String parametros(QueryInfo query) {
+        return query.getParametersList().stream()
+                .map(conjunto -> conjunto.stream()
+                        .map(ParameterSetOperation::getArgs)
+                        .filter(args -> args != null && args.length > 1)
+                        .map(args -> String.valueOf(args[1]))
+                        .collect(Collectors.joining(", ", "[", "]")))
+                .collect(Collectors.joining(" "));
+    }
+}
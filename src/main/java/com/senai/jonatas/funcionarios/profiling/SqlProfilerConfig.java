@@ -0,0 +1,50 @@
+package com.senai.jonatas.funcionarios.profiling;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Substitui o spring.jpa.show-sql: o DataSource é embrulhado pelo datasource-proxy e medido pelo SqlProfiler
+@Configuration
+@ConditionalOnProperty(name = "funcionarios.sql-profiler.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlProfilerConfig {
+
+    @Bean
+    public SqlProfiler sqlProfiler(@Value("${funcionarios.sql-profiler.limite-lento:200ms}") Duration limiteLento) {
+        return new SqlProfiler(limiteLento);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlProfilerFilter> sqlProfilerFilter(
+            SqlProfiler profiler, @Value("${funcionarios.sql-profiler.limite-repeticao:10}") int limiteRepeticao) {
+        var registro = new FilterRegistrationBean<>(new SqlProfilerFilter(profiler, limiteRepeticao));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registro;
+    }
+
+    @Bean
+    public static BeanPostProcessor sqlProfilerDataSourcePostProcessor(ObjectProvider<SqlProfiler> profiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(profiler.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.senai.jonatas.funcionarios.profiling;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Abre o contexto do profiler por requisição e, no fim, aponta instruções repetidas (suspeita de N+1)
+public class SqlProfilerFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlProfilerFilter.class);
+
+    private final SqlProfiler profiler;
+
+    private final int limiteRepeticao;
+
+    public SqlProfilerFilter(SqlProfiler profiler, int limiteRepeticao) {
+        this.profiler = profiler;
+        this.limiteRepeticao = limiteRepeticao;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        profiler.iniciar();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            var contexto = profiler.finalizar();
+            contexto.porFormato().forEach((sql, vezes) -> {
+                if (vezes > limiteRepeticao) {
+                    log.warn("Possível N+1 em {} {}: mesma instrução executada {} vezes: {} [sql={} {}ms na requisição]",
+                            request.getMethod(), request.getRequestURI(), vezes, sql,
+                            contexto.quantidade(), contexto.tempoMs());
+                }
+            });
+            log.debug("{} {}: {} instrução(ões) SQL em {} ms", request.getMethod(), request.getRequestURI(),
+                    contexto.quantidade(), contexto.tempoMs());
+        }
+    }
+}
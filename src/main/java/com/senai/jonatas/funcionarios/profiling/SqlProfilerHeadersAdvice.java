@@ -0,0 +1,39 @@
+package com.senai.jonatas.funcionarios.profiling;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Cabeçalhos X-SQL-Count / X-SQL-Time-Ms: escritos logo antes do corpo, quando o service já terminou
+@ControllerAdvice
+public class SqlProfilerHeadersAdvice implements ResponseBodyAdvice<Object> {
+
+    private final SqlProfiler profiler;
+
+    // Ausente quando funcionarios.sql-profiler.enabled=false
+    public SqlProfilerHeadersAdvice(ObjectProvider<SqlProfiler> profiler) {
+        this.profiler = profiler.getIfAvailable();
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return profiler != null;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        var contexto = profiler.contexto();
+        if (contexto != null) {
+            response.getHeaders().set("X-SQL-Count", String.valueOf(contexto.quantidade()));
+            response.getHeaders().set("X-SQL-Time-Ms", String.valueOf(contexto.tempoMs()));
+        }
+        return body;
+    }
+}
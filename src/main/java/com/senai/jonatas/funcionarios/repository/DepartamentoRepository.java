@@ -1,16 +1,22 @@
 package com.senai.jonatas.funcionarios.repository;
 
+import com.senai.jonatas.funcionarios.dto.VersaoRecurso;
 import com.senai.jonatas.funcionarios.entity.Departamento;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
 public interface DepartamentoRepository extends JpaRepository<Departamento, Long> {
 
-    boolean existsByNomeIgnoreCase(String nome);
+    // Sonda única no índice de uk_departamento_nome; recebe o nome já normalizado
+    @Query("select d.id from Departamento d where d.nomeNormalizado = :nomeNormalizado")
+    Optional<Long> findIdByNomeNormalizado(@Param("nomeNormalizado") String nomeNormalizado);
 
-    Optional<Departamento> findByNomeIgnoreCase(String nome);
+    @Query("select new com.senai.jonatas.funcionarios.dto.VersaoRecurso(d.versao, d.atualizadoEm) from Departamento d where d.id = :id")
+    Optional<VersaoRecurso> findVersaoById(@Param("id") Long id);
 
     List<Departamento> findByAtivoOrderByNomeAsc(Boolean ativo);
 
@@ -0,0 +1,16 @@
+package com.senai.jonatas.funcionarios.repository;
+
+import com.senai.jonatas.funcionarios.dto.FuncionarioResponse;
+import com.senai.jonatas.funcionarios.dto.OrdenacaoFuncionarios;
+import com.senai.jonatas.funcionarios.entity.Funcionario;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Fragmento de FuncionarioRepository: listagem com filtros dinâmicos projetada em FuncionarioResponse
+public interface FuncionarioFiltroRepository {
+
+    List<FuncionarioResponse> findPagina(Specification<Funcionario> filtro, OrdenacaoFuncionarios ordenacao,
+                                         Sort.Direction direcao, int limite);
+}
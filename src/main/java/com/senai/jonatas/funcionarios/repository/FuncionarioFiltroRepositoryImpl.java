@@ -0,0 +1,45 @@
+package com.senai.jonatas.funcionarios.repository;
+
+import com.senai.jonatas.funcionarios.dto.FuncionarioResponse;
+import com.senai.jonatas.funcionarios.dto.OrdenacaoFuncionarios;
+import com.senai.jonatas.funcionarios.entity.Departamento;
+import com.senai.jonatas.funcionarios.entity.Funcionario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Join;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// Mesma forma das consultas JPQL do repositório: projeção com join no departamento, uma única instrução SQL
+class FuncionarioFiltroRepositoryImpl implements FuncionarioFiltroRepository {
+
+    private final EntityManager entityManager;
+
+    FuncionarioFiltroRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<FuncionarioResponse> findPagina(Specification<Funcionario> filtro, OrdenacaoFuncionarios ordenacao,
+                                                Sort.Direction direcao, int limite) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(FuncionarioResponse.class);
+        var f = query.from(Funcionario.class);
+        Join<Funcionario, Departamento> d = f.join("departamento");
+        query.select(cb.construct(FuncionarioResponse.class,
+                f.get("id"), f.get("nome"), f.get("email"), f.get("cargo"), f.get("salario"),
+                f.get("dataAdmissao"), f.get("ativo"), d.get("id"), d.get("nome"), d.get("sigla")));
+
+        var predicado = filtro.toPredicate(f, query, cb);
+        if (predicado != null) {
+            query.where(predicado);
+        }
+        var chave = f.get(ordenacao.atributo());
+        query.orderBy(direcao.isAscending()
+                ? List.of(cb.asc(chave), cb.asc(f.get("id")))
+                : List.of(cb.desc(chave), cb.desc(f.get("id"))));
+
+        return entityManager.createQuery(query).setMaxResults(limite).getResultList();
+    }
+}
@@ -1,22 +1,159 @@
 package com.senai.jonatas.funcionarios.repository;
 
+import com.senai.jonatas.funcionarios.dto.EstatisticasDepartamentoResponse;
+import com.senai.jonatas.funcionarios.dto.FuncionarioAlteracao;
+import com.senai.jonatas.funcionarios.dto.FuncionarioResponse;
+import com.senai.jonatas.funcionarios.dto.VersaoRecurso;
 import com.senai.jonatas.funcionarios.entity.Funcionario;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface FuncionarioRepository extends JpaRepository<Funcionario, Long> {
+// A listagem com filtros dinâmicos (Specifications) fica no fragmento FuncionarioFiltroRepository
+public interface FuncionarioRepository extends JpaRepository<Funcionario, Long>, FuncionarioFiltroRepository {
 
-    Optional<Funcionario> findByEmailIgnoreCase(String email);
+    // Recebem o e-mail já normalizado (trim + minúsculas), igual ao gravado pela entidade
 
-    boolean existsByEmailIgnoreCase(String email);
+    // SELECT ... FOR UPDATE: reativações concorrentes do mesmo e-mail são serializadas na linha
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<Funcionario> findComBloqueioByEmail(String email);
 
-    List<Funcionario> findByCargoIgnoreCaseContainingOrderByNomeAsc(String cargo);
+    boolean existsByEmail(String email);
 
-    List<Funcionario> findByAtivoOrderByNomeAsc(Boolean ativo);
+    List<Funcionario> findByEmailIn(Collection<String> emails);
 
-    List<Funcionario> findByCargoIgnoreCaseContainingAndAtivoOrderByNomeAsc(String cargo, Boolean ativo);
+    // Sonda única em idx_funcionario_departamento_ativo (select ... fetch first 1), sem carregar Departamento.funcionarios
+    boolean existsByDepartamentoIdAndAtivoTrue(Long departamentoId);
 
-    List<Funcionario> findAllByOrderByNomeAsc();
+    // Carrega o departamento no mesmo SELECT (evita o lazy load ao mapear a resposta)
+    @EntityGraph(attributePaths = "departamento")
+    Optional<Funcionario> findComDepartamentoById(Long id);
+
+    // As consultas abaixo projetam direto em FuncionarioResponse com join no departamento:
+    // uma única instrução SQL, sem entidades no contexto de persistência.
+
+    @Query("""
+            select new com.senai.jonatas.funcionarios.dto.FuncionarioResponse(
+                f.id, f.nome, f.email, f.cargo, f.salario, f.dataAdmissao, f.ativo, d.id, d.nome, d.sigla)
+            from Funcionario f join f.departamento d
+            where f.id = :id
+            """)
+    Optional<FuncionarioResponse> findResponseById(@Param("id") Long id);
+
+    // Busca em lote: quem chama limita o tamanho do IN (FuncionarioService.TAMANHO_LOTE_IN)
+    @Query("""
+            select new com.senai.jonatas.funcionarios.dto.FuncionarioResponse(
+                f.id, f.nome, f.email, f.cargo, f.salario, f.dataAdmissao, f.ativo, d.id, d.nome, d.sigla)
+            from Funcionario f join f.departamento d
+            where f.id in :ids
+            """)
+    List<FuncionarioResponse> findResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Só versões e datas de alteração: responde If-None-Match/If-Modified-Since sem montar a resposta
+    @Query("""
+            select new com.senai.jonatas.funcionarios.dto.VersaoRecurso(f.versao, d.versao, f.atualizadoEm, d.atualizadoEm)
+            from Funcionario f join f.departamento d
+            where f.id = :id
+            """)
+    Optional<VersaoRecurso> findVersaoById(@Param("id") Long id);
+
+    // Feed de alterações: keyset sobre (atualizadoEm, id) até :ate, que fica funcionarios.alteracoes.atraso
+    // atrás do relógio para transações com atualizadoEm anterior ainda não commitadas não serem puladas.
+    // Só é seguro enquanto nenhuma escrita leva mais que esse atraso entre o carimbo e o commit.
+    // ">= :desde" repete o OR do keyset como faixa, que o H2 consegue buscar em idx_funcionario_atualizado_em.
+
+    @Query("""
+            select new com.senai.jonatas.funcionarios.dto.FuncionarioAlteracao(
+                f.id, f.nome, f.email, f.cargo, f.salario, f.dataAdmissao, f.ativo, d.id, d.nome, d.sigla,
+                f.versao, f.atualizadoEm)
+            from Funcionario f join f.departamento d
+            where f.atualizadoEm >= :desde and f.atualizadoEm <= :ate
+              and (f.atualizadoEm > :desde or (f.atualizadoEm = :desde and f.id > :id))
+            order by f.atualizadoEm asc, f.id asc
+            """)
+    List<FuncionarioAlteracao> findAlteracoes(@Param("desde") Instant desde, @Param("id") Long id,
+                                              @Param("ate") Instant ate, Pageable limite);
+
+    // Exportação: percorrida como Stream dentro de uma transação, buscando 1.000 linhas por ida ao banco.
+    // Projeção em DTO, então nada fica retido no contexto de persistência.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            select new com.senai.jonatas.funcionarios.dto.FuncionarioResponse(
+                f.id, f.nome, f.email, f.cargo, f.salario, f.dataAdmissao, f.ativo, d.id, d.nome, d.sigla)
+            from Funcionario f join f.departamento d
+            where :ativo is null or f.ativo = :ativo
+            order by f.id asc
+            """)
+    Stream<FuncionarioResponse> streamParaExportacao(@Param("ativo") Boolean ativo);
+
+    // Estatísticas por departamento num único GROUP BY; left join para departamentos sem funcionários.
+    // Soma, mínimo e máximo só sobre ativos (CASE sem ELSE devolve null, ignorado pelas agregações).
+
+    @Query("""
+            select new com.senai.jonatas.funcionarios.dto.EstatisticasDepartamentoResponse(
+                d.id, d.nome, d.sigla,
+                count(case when f.ativo = true then 1 end),
+                count(case when f.ativo = false then 1 end),
+                sum(case when f.ativo = true then f.salario end),
+                min(case when f.ativo = true then f.salario end),
+                max(case when f.ativo = true then f.salario end))
+            from Departamento d left join d.funcionarios f
+            group by d.id, d.nome, d.sigla
+            order by d.nome asc
+            """)
+    List<EstatisticasDepartamentoResponse> findEstatisticasPorDepartamento();
+
+    @Query("""
+            select new com.senai.jonatas.funcionarios.dto.EstatisticasDepartamentoResponse(
+                d.id, d.nome, d.sigla,
+                count(case when f.ativo = true then 1 end),
+                count(case when f.ativo = false then 1 end),
+                sum(case when f.ativo = true then f.salario end),
+                min(case when f.ativo = true then f.salario end),
+                max(case when f.ativo = true then f.salario end))
+            from Departamento d left join d.funcionarios f
+            where d.id = :departamentoId
+            group by d.id, d.nome, d.sigla
+            """)
+    Optional<EstatisticasDepartamentoResponse> findEstatisticasDoDepartamento(@Param("departamentoId") Long departamentoId);
+
+    // UPDATEs em massa: não passam pelo contexto de persistência, então ele é descarregado antes e limpo depois.
+    // Também não passam por @Version/normalize(): versão e atualizadoEm são mantidos aqui.
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Funcionario f set f.ativo = false, f.versao = f.versao + 1, f.atualizadoEm = :agora
+            where f.id in :ids and f.ativo = true
+            """)
+    int inativarPorIds(@Param("ids") Collection<Long> ids, @Param("agora") Instant agora);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Funcionario f set f.ativo = false, f.versao = f.versao + 1, f.atualizadoEm = :agora
+            where f.departamento.id = :departamentoId and f.ativo = true
+            """)
+    int inativarPorDepartamento(@Param("departamentoId") Long departamentoId, @Param("agora") Instant agora);
+
+    // Renomear o departamento muda departamentoNome/Sigla no feed de alterações: os funcionários dele
+    // voltam a aparecer para quem sincroniza. versao fica igual (o ETag já leva a versão do departamento).
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Funcionario f set f.atualizadoEm = :agora where f.departamento.id = :departamentoId")
+    int marcarAlteradosPorDepartamento(@Param("departamentoId") Long departamentoId, @Param("agora") Instant agora);
+
+    @Query("select f from Funcionario f where f.cargoNormalizado is null order by f.id")
+    List<Funcionario> findSemCargoNormalizado(Pageable limite);
 }
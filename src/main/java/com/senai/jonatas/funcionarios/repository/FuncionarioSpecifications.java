@@ -0,0 +1,141 @@
+package com.senai.jonatas.funcionarios.repository;
+
+import com.senai.jonatas.funcionarios.dto.FiltroFuncionarios;
+import com.senai.jonatas.funcionarios.dto.OrdenacaoFuncionarios;
+import com.senai.jonatas.funcionarios.entity.Funcionario;
+import com.senai.jonatas.funcionarios.entity.Trigramas;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.SetJoin;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Predicados da listagem de funcionários. Cada filtro ausente devolve null e não gera SQL;
+ * os informados são escritos na forma que os índices de V1/V6 atendem (igualdade, faixa, prefixo).
+ */
+public final class FuncionarioSpecifications {
+
+    private FuncionarioSpecifications() {}
+
+    public static Specification<Funcionario> de(FiltroFuncionarios filtro) {
+        var predicados = new ArrayList<Specification<Funcionario>>();
+        adicionar(predicados, cargoContem(filtro.cargo()));
+        adicionar(predicados, ativo(filtro.ativo()));
+        adicionar(predicados, doDepartamento(filtro.departamentoId()));
+        adicionar(predicados, salarioEntre(filtro.salarioMin(), filtro.salarioMax()));
+        adicionar(predicados, admitidoEntre(filtro.admissaoDe(), filtro.admissaoAte()));
+        adicionar(predicados, nomeComecaCom(filtro.nomePrefixo()));
+        adicionar(predicados, emailDoDominio(filtro.emailDominio()));
+        return Specification.allOf(predicados);
+    }
+
+    // Substring do cargo: os trigramas do termo filtram pelo índice de trigramas e o LIKE sobre
+    // cargo_normalizado confirma a ordem dos caracteres. Termos com menos de 3 caracteres só usam o LIKE.
+    public static Specification<Funcionario> cargoContem(String cargo) {
+        if (cargo == null || cargo.isBlank()) {
+            return null;
+        }
+        String termo = Trigramas.normalizar(cargo);
+        String padrao = "%" + escaparLike(termo) + "%";
+        Set<String> trigramas = Trigramas.de(termo);
+        return (root, query, cb) -> {
+            var like = cb.like(root.get("cargoNormalizado"), padrao, '!');
+            if (trigramas.isEmpty()) {
+                return like;
+            }
+            var sub = query.subquery(Long.class);
+            var t = sub.from(Funcionario.class);
+            SetJoin<Funcionario, String> g = t.joinSet("cargoTrigramas");
+            sub.select(t.get("id"))
+                    .where(g.in(trigramas))
+                    .groupBy(t.get("id"))
+                    .having(cb.equal(cb.count(g), (long) trigramas.size()));
+            return cb.and(root.get("id").in(sub), like);
+        };
+    }
+
+    public static Specification<Funcionario> ativo(Boolean ativo) {
+        return ativo == null ? null : (root, query, cb) -> cb.equal(root.get("ativo"), ativo);
+    }
+
+    // Compara a FK direto, sem join
+    public static Specification<Funcionario> doDepartamento(Long departamentoId) {
+        return departamentoId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("departamento").get("id"), departamentoId);
+    }
+
+    public static Specification<Funcionario> salarioEntre(BigDecimal minimo, BigDecimal maximo) {
+        if (minimo == null && maximo == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Expression<BigDecimal> salario = root.get("salario");
+            if (maximo == null) return cb.greaterThanOrEqualTo(salario, minimo);
+            if (minimo == null) return cb.lessThanOrEqualTo(salario, maximo);
+            return cb.between(salario, minimo, maximo);
+        };
+    }
+
+    public static Specification<Funcionario> admitidoEntre(LocalDate de, LocalDate ate) {
+        if (de == null && ate == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Expression<LocalDate> data = root.get("dataAdmissao");
+            if (ate == null) return cb.greaterThanOrEqualTo(data, de);
+            if (de == null) return cb.lessThanOrEqualTo(data, ate);
+            return cb.between(data, de, ate);
+        };
+    }
+
+    // LIKE 'prefixo%' vira faixa no índice de nome
+    public static Specification<Funcionario> nomeComecaCom(String prefixo) {
+        if (prefixo == null || prefixo.isBlank()) {
+            return null;
+        }
+        String padrao = escaparLike(prefixo.trim()) + "%";
+        return (root, query, cb) -> cb.like(root.get("nome"), padrao, '!');
+    }
+
+    // Igualdade na coluna email_dominio (mantida pela entidade) em vez de LIKE '%@dominio'
+    public static Specification<Funcionario> emailDoDominio(String dominio) {
+        if (dominio == null || dominio.isBlank()) {
+            return null;
+        }
+        String normalizado = Funcionario.dominioDoEmail(dominio.trim().startsWith("@") ? dominio.trim() : "@" + dominio.trim());
+        return (root, query, cb) -> cb.equal(root.get("emailDominio"), normalizado);
+    }
+
+    // Keyset: linhas depois de (valor, id) na ordenação pedida. O H2 não usa índice para o OR sozinho;
+    // o "chave >= valor" redundante vira o início da faixa no índice (chave, id).
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Funcionario> depoisDe(OrdenacaoFuncionarios ordenacao, Sort.Direction direcao,
+                                                      Comparable valor, Long id) {
+        return (root, query, cb) -> {
+            Expression<Comparable> chave = root.get(ordenacao.atributo());
+            Expression<Long> idRaiz = root.get("id");
+            if (direcao.isAscending()) {
+                return cb.and(cb.greaterThanOrEqualTo(chave, valor),
+                        cb.or(cb.greaterThan(chave, valor), cb.and(cb.equal(chave, valor), cb.greaterThan(idRaiz, id))));
+            }
+            return cb.and(cb.lessThanOrEqualTo(chave, valor),
+                    cb.or(cb.lessThan(chave, valor), cb.and(cb.equal(chave, valor), cb.lessThan(idRaiz, id))));
+        };
+    }
+
+    static String escaparLike(String termo) {
+        return termo.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private static void adicionar(ArrayList<Specification<Funcionario>> predicados, Specification<Funcionario> spec) {
+        if (spec != null) {
+            predicados.add(spec);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.senai.jonatas.funcionarios.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Adia uma ação para depois do commit da transação corrente (ou executa já, se não houver transação)
+final class AposCommit {
+
+    private AposCommit() {}
+
+    static void executar(Runnable acao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    acao.run();
+                }
+            });
+        } else {
+            acao.run();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.senai.jonatas.funcionarios.service;
+
+import com.senai.jonatas.funcionarios.entity.Funcionario;
+import com.senai.jonatas.funcionarios.repository.FuncionarioRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Preenche cargo_normalizado e os trigramas de registros gravados antes da busca indexada existir
+@Component
+public class CargoIndiceInicializador implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(CargoIndiceInicializador.class);
+
+    private static final int LOTE = 500;
+
+    private final FuncionarioRepository repository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public CargoIndiceInicializador(FuncionarioRepository repository, TransactionTemplate transactionTemplate) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int total = 0;
+        int processados;
+        do {
+            processados = transactionTemplate.execute(status -> {
+                var lote = repository.findSemCargoNormalizado(PageRequest.of(0, LOTE));
+                lote.forEach(Funcionario::reindexarCargo);
+                return lote.size();
+            });
+            total += processados;
+        } while (processados == LOTE);
+        if (total > 0) {
+            log.info("Índice de cargo reconstruído para {} funcionário(s)", total);
+        }
+    }
+}
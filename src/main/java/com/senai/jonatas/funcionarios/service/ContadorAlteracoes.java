@@ -0,0 +1,43 @@
+package com.senai.jonatas.funcionarios.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Contadores em memória de alterações por tabela, base dos ETags das listagens: um GET com
+ * If-None-Match igual ao contador atual recebe 304 sem consulta ao banco.
+ * <p>
+ * Os services incrementam depois do commit ({@link AposCommit}); quem lê o contador antes dos dados
+ * no máximo associa dados novos a um ETag antigo, o que só custa uma releitura. O instante de
+ * início no ETag evita colisão com valores de antes de um restart.
+ * <p>
+ * Os ETags são fracos (W/): o mesmo valor vale para JSON, CBOR e Smile, que diferem byte a byte, e
+ * o Tomcat não comprime respostas com ETag forte.
+ */
+@Component
+public class ContadorAlteracoes {
+
+    private final String inicio = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong funcionarios = new AtomicLong();
+
+    private final AtomicLong departamentos = new AtomicLong();
+
+    // A listagem de funcionários também traz nome e sigla do departamento
+    public String etagFuncionarios() {
+        return "W/\"" + inicio + "-" + funcionarios.get() + "-" + departamentos.get() + "\"";
+    }
+
+    public String etagDepartamentos() {
+        return "W/\"" + inicio + "-" + departamentos.get() + "\"";
+    }
+
+    void funcionariosAlterados() {
+        AposCommit.executar(funcionarios::incrementAndGet);
+    }
+
+    void departamentosAlterados() {
+        AposCommit.executar(departamentos::incrementAndGet);
+    }
+}
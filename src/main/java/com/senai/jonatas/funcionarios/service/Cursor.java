@@ -0,0 +1,58 @@
+package com.senai.jonatas.funcionarios.service;
+
+import com.senai.jonatas.funcionarios.exceptions.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Token opaco de paginação por keyset: guarda os valores da última linha
+ * entregue (ex.: nome + id) codificados em Base64 URL-safe.
+ */
+public final class Cursor {
+
+    private static final String SEPARADOR = "\u0000";
+
+    private Cursor() {}
+
+    public static String encode(Object... partes) {
+        var sb = new StringBuilder();
+        for (int i = 0; i < partes.length; i++) {
+            if (i > 0) sb.append(SEPARADOR);
+            sb.append(partes[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String[] decode(String token, int partes) {
+        try {
+            var texto = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            var valores = texto.split(SEPARADOR, partes);
+            if (valores.length != partes) {
+                throw new BusinessException("Cursor de paginação inválido");
+            }
+            return valores;
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
+    }
+
+    public static Instant decodeInstant(String valor) {
+        try {
+            return Instant.parse(valor);
+        } catch (DateTimeParseException ex) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
+    }
+
+    public static Long decodeId(String valor) {
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException ex) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.senai.jonatas.funcionarios.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.senai.jonatas.funcionarios.dto.DepartamentoResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Cache local de departamentos: por id, id por nome normalizado e as listagens.
+ * Toda escrita em DepartamentoService chama {@link #invalidar(Long)}, que limpa na hora e de novo
+ * após o commit, para que uma leitura concorrente não deixe o valor antigo de volta no cache.
+ * Acertos e faltas ficam em /actuator/metrics/cache.gets.
+ */
+@Component
+public class DepartamentoCache {
+
+    private static final String TODOS = "todos";
+    private static final String ATIVOS = "ativos";
+
+    private final Cache<Long, DepartamentoResponse> porId;
+
+    private final Cache<String, Optional<Long>> idPorNome;
+
+    private final Cache<String, List<DepartamentoResponse>> listas;
+
+    public DepartamentoCache(MeterRegistry registry,
+                             @Value("${funcionarios.cache.departamentos.tamanho-maximo:1000}") long tamanhoMaximo,
+                             @Value("${funcionarios.cache.departamentos.ttl:10m}") Duration ttl) {
+        this.porId = CaffeineCacheMetrics.monitor(registry, Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo).expireAfterWrite(ttl).recordStats().build(), "departamentos.porId");
+        this.idPorNome = CaffeineCacheMetrics.monitor(registry, Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo).expireAfterWrite(ttl).recordStats().build(), "departamentos.idPorNome");
+        this.listas = CaffeineCacheMetrics.monitor(registry, Caffeine.newBuilder()
+                .maximumSize(2).expireAfterWrite(ttl).recordStats().build(), "departamentos.listas");
+    }
+
+    public DepartamentoResponse porId(Long id, Function<Long, DepartamentoResponse> carregar) {
+        return porId.get(id, carregar);
+    }
+
+    // Faltas são carregadas juntas; IDs que o carregador não devolve ficam fora do mapa e do cache
+    public Map<Long, DepartamentoResponse> porIds(Collection<Long> ids,
+                                                  Function<Set<? extends Long>, Map<Long, DepartamentoResponse>> carregar) {
+        return porId.getAll(ids, carregar);
+    }
+
+    public Optional<Long> idPorNome(String nomeNormalizado, Function<String, Optional<Long>> carregar) {
+        return idPorNome.get(nomeNormalizado, carregar);
+    }
+
+    public List<DepartamentoResponse> todos(Supplier<List<DepartamentoResponse>> carregar) {
+        return listas.get(TODOS, chave -> carregar.get());
+    }
+
+    public List<DepartamentoResponse> ativos(Supplier<List<DepartamentoResponse>> carregar) {
+        return listas.get(ATIVOS, chave -> carregar.get());
+    }
+
+    // id null = departamento novo: só nomes e listagens mudam
+    public void invalidar(Long id) {
+        limpar(id);
+        AposCommit.executar(() -> limpar(id));
+    }
+
+    private void limpar(Long id) {
+        if (id != null) {
+            porId.invalidate(id);
+        }
+        idPorNome.invalidateAll();
+        listas.invalidateAll();
+    }
+}
@@ -1,59 +1,147 @@
 package com.senai.jonatas.funcionarios.service;
 
+import com.senai.jonatas.funcionarios.dto.BuscaEmLoteResponse;
 import com.senai.jonatas.funcionarios.dto.DepartamentoRequest;
 import com.senai.jonatas.funcionarios.dto.DepartamentoResponse;
+import com.senai.jonatas.funcionarios.dto.VersaoRecurso;
+import com.senai.jonatas.funcionarios.dto.Versionado;
 import com.senai.jonatas.funcionarios.entity.Departamento;
+import com.senai.jonatas.funcionarios.evento.EventoAlteracao;
+import com.senai.jonatas.funcionarios.evento.EventoAlteracao.Acao;
 import com.senai.jonatas.funcionarios.exceptions.BusinessException;
 import com.senai.jonatas.funcionarios.exceptions.NomeConflictException;
+import com.senai.jonatas.funcionarios.exceptions.PreconditionFailedException;
 import com.senai.jonatas.funcionarios.exceptions.ResourceNotFoundException;
 import com.senai.jonatas.funcionarios.mapper.DepartamentoMapper;
 import com.senai.jonatas.funcionarios.repository.DepartamentoRepository;
+import com.senai.jonatas.funcionarios.repository.FuncionarioRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Objects;
 
 @Service
+@Timed("servico.departamentos")
 public class DepartamentoService {
 
     private final DepartamentoRepository repository;
 
-    public DepartamentoService(DepartamentoRepository repository) {
+    private final FuncionarioRepository funcionarioRepository;
+
+    private final DepartamentoCache cache;
+
+    private final ContadorAlteracoes contador;
+
+    private final ApplicationEventPublisher eventos;
+
+    private final SingleFlight singleFlight;
+
+    public DepartamentoService(DepartamentoRepository repository, FuncionarioRepository funcionarioRepository,
+                               DepartamentoCache cache, ContadorAlteracoes contador,
+                               ApplicationEventPublisher eventos, SingleFlight singleFlight) {
         this.repository = repository;
+        this.funcionarioRepository = funcionarioRepository;
+        this.cache = cache;
+        this.contador = contador;
+        this.eventos = eventos;
+        this.singleFlight = singleFlight;
     }
 
+    // Leituras passam pelo SingleFlight antes do cache: quando uma entrada expira, quem chega enquanto
+    // a consulta roda espera o resultado dela (com timeout) em vez de bloquear no carregamento do cache.
+    // A chave leva a geração de departamentos, então ninguém se junta a uma carga anterior a um commit.
+
     public List<DepartamentoResponse> listarTodos() {
-        return repository.findAllByOrderByNomeAsc().stream()
-                .map(DepartamentoMapper::toResponse)
-                .toList();
+        return singleFlight.executar("departamentos.listarTodos", contador.etagDepartamentos(), () ->
+                cache.todos(() -> repository.findAllByOrderByNomeAsc().stream()
+                        .map(DepartamentoMapper::toResponse)
+                        .toList()));
     }
 
     public List<DepartamentoResponse> listarAtivos() {
-        return repository.findByAtivoOrderByNomeAsc(true).stream()
-                .map(DepartamentoMapper::toResponse)
-                .toList();
+        return singleFlight.executar("departamentos.listarAtivos", contador.etagDepartamentos(), () ->
+                cache.ativos(() -> repository.findByAtivoOrderByNomeAsc(true).stream()
+                        .map(DepartamentoMapper::toResponse)
+                        .toList()));
     }
 
     public DepartamentoResponse buscarPorId(Long id) {
-        Departamento depto = findDepartamentoById(id);
-        return DepartamentoMapper.toResponse(depto);
+        return buscarPorId(id, contador.etagDepartamentos());
+    }
+
+    // versao: ETag que o chamador vai devolver com o corpo (GET /{id}); só compartilha consulta da mesma versão
+    public DepartamentoResponse buscarPorId(Long id, String versao) {
+        return singleFlight.executar("departamentos.buscarPorId", Arrays.asList(id, versao), () ->
+                cache.porId(id, chave -> DepartamentoMapper.toResponse(findDepartamentoById(chave))));
+    }
+
+    // Acertos saem do cache; as faltas vão juntas num findAllById por lote
+    public BuscaEmLoteResponse<DepartamentoResponse> buscarPorIds(List<Long> ids) {
+        var distintos = BuscaEmLoteResponse.distintos(ids);
+        var encontrados = cache.porIds(distintos, faltantes -> {
+            var pendentes = List.<Long>copyOf(faltantes);
+            var carregados = new HashMap<Long, DepartamentoResponse>(pendentes.size() * 2);
+            for (int i = 0; i < pendentes.size(); i += FuncionarioService.TAMANHO_LOTE_IN) {
+                var lote = pendentes.subList(i, Math.min(i + FuncionarioService.TAMANHO_LOTE_IN, pendentes.size()));
+                repository.findAllById(lote).forEach(d -> carregados.put(d.getId(), DepartamentoMapper.toResponse(d)));
+            }
+            return carregados;
+        });
+        return BuscaEmLoteResponse.naOrdem(distintos, encontrados);
+    }
+
+    public VersaoRecurso versao(Long id) {
+        return repository.findVersaoById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Departamento não encontrado com ID: " + id));
+    }
+
+    public String etagListagem() {
+        return contador.etagDepartamentos();
+    }
+
+    // Referência sem SELECT para vincular funcionários (quem chama já validou o departamento)
+    protected Departamento referencia(Long id) {
+        return repository.getReferenceById(id);
     }
 
     @Transactional
     public DepartamentoResponse cadastrar(DepartamentoRequest req) {
         validarNomeUnico(req.nome(), null);
         Departamento novo = DepartamentoMapper.toEntity(req);
-        Departamento salvo = repository.save(novo);
-        return DepartamentoMapper.toResponse(salvo);
+        Departamento salvo = repository.saveAndFlush(novo);
+        cache.invalidar(null);
+        contador.departamentosAlterados();
+        var response = DepartamentoMapper.toResponse(salvo);
+        eventos.publishEvent(EventoAlteracao.departamento(Acao.CADASTRADO, response));
+        return response;
     }
 
+    // versaoEsperada vem do If-Match (null = sem pré-condição)
     @Transactional
-    public DepartamentoResponse atualizar(Long id, DepartamentoRequest req) {
+    public Versionado<DepartamentoResponse> atualizar(Long id, DepartamentoRequest req, Long versaoEsperada) {
         Departamento existente = findDepartamentoById(id);
+        if (versaoEsperada != null && !versaoEsperada.equals(existente.getVersao())) {
+            throw new PreconditionFailedException("Departamento foi alterado desde a versão informada em If-Match");
+        }
         validarNomeUnico(req.nome(), id); // Verifica se o novo nome já existe em outro ID
+        boolean renomeado = !Objects.equals(existente.getNome(), req.nome())
+                || !Objects.equals(existente.getSigla(), req.sigla());
         DepartamentoMapper.updateEntityFromRequest(req, existente);
-        Departamento salvo = repository.save(existente);
-        return DepartamentoMapper.toResponse(salvo);
+        Departamento salvo = repository.saveAndFlush(existente);
+        if (renomeado) {
+            // Nome e sigla vão em cada linha do feed de alterações dos funcionários
+            funcionarioRepository.marcarAlteradosPorDepartamento(id, salvo.getAtualizadoEm());
+        }
+        cache.invalidar(id);
+        contador.departamentosAlterados();
+        var response = DepartamentoMapper.toResponse(salvo);
+        eventos.publishEvent(EventoAlteracao.departamento(Acao.ATUALIZADO, response));
+        return new Versionado<>(response, new VersaoRecurso(salvo.getVersao(), salvo.getAtualizadoEm()));
     }
 
     @Transactional
@@ -64,12 +152,18 @@ public class DepartamentoService {
         }
         // Regra: Não permitir inativar se houver funcionários ATIVOS associados?
         // (Opcional, não especificado no requisito, mas comum)
-        // if (existente.getFuncionarios().stream().anyMatch(Funcionario::getAtivo)) {
+        // Se for adotada, use a sonda FuncionarioRepository.existsByDepartamentoIdAndAtivoTrue(id) em vez de
+        // percorrer existente.getFuncionarios(), que carregaria todos os funcionários do departamento:
+        // if (funcionarioRepository.existsByDepartamentoIdAndAtivoTrue(id)) {
         //     throw new BusinessException("Não é possível inativar departamento com funcionários ativos.");
         // }
         existente.setAtivo(false);
         Departamento salvo = repository.save(existente);
-        return DepartamentoMapper.toResponse(salvo);
+        cache.invalidar(id);
+        contador.departamentosAlterados();
+        var response = DepartamentoMapper.toResponse(salvo);
+        eventos.publishEvent(EventoAlteracao.departamento(Acao.INATIVADO, response));
+        return response;
     }
 
     // Método utilitário para buscar e lançar exceção se não encontrado
@@ -78,15 +172,13 @@ public class DepartamentoService {
                 .orElseThrow(() -> new ResourceNotFoundException("Departamento não encontrado com ID: " + id));
     }
 
+    // Checagem antecipada só para responder com uma mensagem clara; a garantia contra corrida é a
+    // constraint uk_departamento_nome (violação vira NomeConflictException no ApiExceptionHandler)
     private void validarNomeUnico(String nome, Long idExcluir) {
-        repository.findByNomeIgnoreCase(nome).ifPresent(depto -> {
-            if (idExcluir == null || !depto.getId().equals(idExcluir)) {
+        cache.idPorNome(Departamento.normalizarNome(nome), repository::findIdByNomeNormalizado).ifPresent(idExistente -> {
+            if (idExcluir == null || !idExistente.equals(idExcluir)) {
                 throw new NomeConflictException("Nome de departamento já cadastrado: " + nome);
             }
         });
-        // Validação adicional caso não queira depender só do banco
-        if (repository.existsByNomeIgnoreCase(nome) && (idExcluir == null || repository.findByNomeIgnoreCase(nome).map(d -> !d.getId().equals(idExcluir)).orElse(false))) {
-            throw new NomeConflictException("Nome de departamento já cadastrado: " + nome);
-        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,106 @@
+package com.senai.jonatas.funcionarios.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.senai.jonatas.funcionarios.dto.FuncionarioResponse;
+import com.senai.jonatas.funcionarios.repository.FuncionarioRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Exportação do cadastro inteiro em CSV ou NDJSON, escrita linha a linha direto na resposta.
+ * As linhas vêm de um Stream de projeções (cursor JDBC com fetch size), então nenhuma entidade
+ * entra no contexto de persistência e a memória não cresce com o número de funcionários.
+ */
+@Service
+public class FuncionarioExportacaoService {
+
+    // Colunas de importação primeiro, para o arquivo poder ser reimportado (ver FuncionarioImportacaoService)
+    static final String CABECALHO_CSV =
+            "nome,email,cargo,salario,dataAdmissao,departamentoId,id,ativo,departamentoNome,departamentoSigla";
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final FuncionarioRepository repository;
+
+    private final ObjectWriter escritorJson;
+
+    public FuncionarioExportacaoService(FuncionarioRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.escritorJson = objectMapper.writerFor(FuncionarioResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    // ativo null = todos
+    @Transactional
+    public long exportarCsv(Boolean ativo, OutputStream saida) throws IOException {
+        var escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+        escritor.write(CABECALHO_CSV);
+        escritor.write('\n');
+        long linhas = escrever(ativo, f -> {
+            campoCsv(escritor, f.nome()); escritor.write(',');
+            campoCsv(escritor, f.email()); escritor.write(',');
+            campoCsv(escritor, f.cargo()); escritor.write(',');
+            escritor.write(f.salario().toPlainString()); escritor.write(',');
+            escritor.write(f.dataAdmissao().toString()); escritor.write(',');
+            escritor.write(String.valueOf(f.departamentoId())); escritor.write(',');
+            escritor.write(String.valueOf(f.id())); escritor.write(',');
+            escritor.write(String.valueOf(f.ativo())); escritor.write(',');
+            campoCsv(escritor, f.departamentoNome()); escritor.write(',');
+            campoCsv(escritor, f.departamentoSigla());
+            escritor.write('\n');
+        });
+        escritor.flush();
+        return linhas;
+    }
+
+    @Transactional
+    public long exportarNdjson(Boolean ativo, OutputStream saida) throws IOException {
+        var escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+        long linhas = escrever(ativo, f -> {
+            escritorJson.writeValue(escritor, f);
+            escritor.write('\n');
+        });
+        escritor.flush();
+        return linhas;
+    }
+
+    private long escrever(Boolean ativo, EscritorLinha linha) throws IOException {
+        long total = 0;
+        try (var funcionarios = repository.streamParaExportacao(ativo)) {
+            var iterador = funcionarios.iterator();
+            while (iterador.hasNext()) {
+                linha.escrever(iterador.next());
+                total++;
+            }
+        }
+        return total;
+    }
+
+    // RFC 4180: aspas quando o valor tem vírgula, aspas ou quebra de linha
+    private static void campoCsv(Writer escritor, String valor) throws IOException {
+        if (valor == null) {
+            return;
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            escritor.write(valor);
+            return;
+        }
+        escritor.write('"');
+        escritor.write(valor.replace("\"", "\"\""));
+        escritor.write('"');
+    }
+
+    @FunctionalInterface
+    private interface EscritorLinha {
+        void escrever(FuncionarioResponse funcionario) throws IOException;
+    }
+}
@@ -0,0 +1,325 @@
+package com.senai.jonatas.funcionarios.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.senai.jonatas.funcionarios.dto.ErroImportacao;
+import com.senai.jonatas.funcionarios.dto.FuncionarioRequest;
+import com.senai.jonatas.funcionarios.dto.ImportacaoResponse;
+import com.senai.jonatas.funcionarios.entity.Departamento;
+import com.senai.jonatas.funcionarios.entity.Funcionario;
+import com.senai.jonatas.funcionarios.evento.EventoAlteracao;
+import com.senai.jonatas.funcionarios.exceptions.BusinessException;
+import com.senai.jonatas.funcionarios.mapper.FuncionarioMapper;
+import com.senai.jonatas.funcionarios.repository.DepartamentoRepository;
+import com.senai.jonatas.funcionarios.repository.FuncionarioRepository;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em massa de funcionários a partir de NDJSON ou CSV.
+ * O corpo é lido linha a linha; as linhas válidas são agrupadas em lotes e cada lote
+ * resolve departamentos e e-mails com uma consulta só e grava em sua própria transação.
+ */
+@Service
+public class FuncionarioImportacaoService {
+
+    private static final List<String> COLUNAS_CSV =
+            List.of("nome", "email", "cargo", "salario", "dataadmissao", "departamentoid");
+
+    private final FuncionarioRepository repository;
+
+    private final DepartamentoRepository departamentoRepository;
+
+    private final FuncionarioService funcionarioService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ContadorAlteracoes contador;
+
+    private final ApplicationEventPublisher eventos;
+
+    private final Validator validator;
+
+    private final ObjectReader leitorJson;
+
+    private final int tamanhoLote;
+
+    private final int maxErros;
+
+    public FuncionarioImportacaoService(FuncionarioRepository repository,
+                                        DepartamentoRepository departamentoRepository,
+                                        FuncionarioService funcionarioService,
+                                        TransactionTemplate transactionTemplate,
+                                        ContadorAlteracoes contador,
+                                        ApplicationEventPublisher eventos,
+                                        Validator validator,
+                                        ObjectMapper objectMapper,
+                                        @Value("${funcionarios.importacao.tamanho-lote:1000}") int tamanhoLote,
+                                        @Value("${funcionarios.importacao.max-erros:1000}") int maxErros) {
+        this.repository = repository;
+        this.departamentoRepository = departamentoRepository;
+        this.funcionarioService = funcionarioService;
+        this.transactionTemplate = transactionTemplate;
+        this.contador = contador;
+        this.eventos = eventos;
+        this.validator = validator;
+        this.leitorJson = objectMapper.readerFor(FuncionarioRequest.class);
+        this.tamanhoLote = tamanhoLote;
+        this.maxErros = maxErros;
+    }
+
+    // Uma linha = um objeto JSON no formato de FuncionarioRequest
+    public ImportacaoResponse importarNdjson(InputStream corpo) throws IOException {
+        var importacao = new Importacao();
+        try (var leitor = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8))) {
+            String linha;
+            long numero = 0;
+            while ((linha = leitor.readLine()) != null) {
+                numero++;
+                if (linha.isBlank()) continue;
+                try {
+                    FuncionarioRequest req = leitorJson.readValue(linha);
+                    // A linha "null" não é erro de sintaxe para o Jackson, mas não traz funcionário
+                    if (req == null) {
+                        importacao.erro(numero, "Linha deve conter um objeto JSON");
+                    } else {
+                        importacao.adicionar(numero, req);
+                    }
+                } catch (JsonProcessingException ex) {
+                    importacao.erro(numero, "JSON inválido: " + ex.getOriginalMessage());
+                }
+            }
+        }
+        return importacao.concluir();
+    }
+
+    // Primeira linha é o cabeçalho: nome,email,cargo,salario,dataAdmissao,departamentoId (qualquer ordem)
+    public ImportacaoResponse importarCsv(InputStream corpo) throws IOException {
+        var importacao = new Importacao();
+        try (var leitor = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8))) {
+            String cabecalho = leitor.readLine();
+            if (cabecalho == null) {
+                return importacao.concluir();
+            }
+            Map<String, Integer> colunas = new HashMap<>();
+            var nomes = separarCsv(cabecalho);
+            for (int i = 0; i < nomes.size(); i++) {
+                colunas.put(nomes.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+            if (!colunas.keySet().containsAll(COLUNAS_CSV)) {
+                throw new BusinessException("Cabeçalho CSV deve conter: nome,email,cargo,salario,dataAdmissao,departamentoId");
+            }
+
+            String linha;
+            long numero = 1;
+            while ((linha = leitor.readLine()) != null) {
+                numero++;
+                if (linha.isBlank()) continue;
+                try {
+                    importacao.adicionar(numero, paraRequest(separarCsv(linha), colunas));
+                } catch (IllegalArgumentException | DateTimeParseException ex) {
+                    importacao.erro(numero, "Valor inválido: " + ex.getMessage());
+                }
+            }
+        }
+        return importacao.concluir();
+    }
+
+    private FuncionarioRequest paraRequest(List<String> campos, Map<String, Integer> colunas) {
+        Function<String, String> valor = coluna -> {
+            int i = colunas.get(coluna);
+            if (i >= campos.size()) return null;
+            var v = campos.get(i).trim();
+            return v.isEmpty() ? null : v;
+        };
+        String salario = valor.apply("salario");
+        String dataAdmissao = valor.apply("dataadmissao");
+        String departamentoId = valor.apply("departamentoid");
+        return new FuncionarioRequest(
+                valor.apply("nome"),
+                valor.apply("email"),
+                valor.apply("cargo"),
+                salario != null ? new BigDecimal(salario) : null,
+                dataAdmissao != null ? LocalDate.parse(dataAdmissao) : null,
+                departamentoId != null ? Long.valueOf(departamentoId) : null
+        );
+    }
+
+    // RFC 4180 sem quebras de linha dentro de campos
+    static List<String> separarCsv(String linha) {
+        var campos = new ArrayList<String>();
+        var atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    private record Linha(long numero, FuncionarioRequest req) {}
+
+    private record ResultadoLote(long criados, long reativados, List<ErroImportacao> erros) {}
+
+    // Estado de uma importação em andamento: lote pendente, contadores e relatório de erros
+    private final class Importacao {
+
+        private final List<Linha> lote = new ArrayList<>(tamanhoLote);
+        private final List<ErroImportacao> erros = new ArrayList<>();
+        private long processados;
+        private long criados;
+        private long reativados;
+        private long comErro;
+
+        void adicionar(long numero, FuncionarioRequest req) {
+            processados++;
+            var mensagem = validar(req);
+            if (mensagem != null) {
+                registrarErro(numero, mensagem);
+                return;
+            }
+            lote.add(new Linha(numero, req));
+            if (lote.size() >= tamanhoLote) {
+                gravarLote();
+            }
+        }
+
+        void erro(long numero, String mensagem) {
+            processados++;
+            registrarErro(numero, mensagem);
+        }
+
+        ImportacaoResponse concluir() {
+            if (!lote.isEmpty()) {
+                gravarLote();
+            }
+            return new ImportacaoResponse(processados, criados, reativados, comErro, List.copyOf(erros));
+        }
+
+        private String validar(FuncionarioRequest req) {
+            var violacoes = validator.validate(req);
+            if (!violacoes.isEmpty()) {
+                var v = violacoes.iterator().next();
+                return v.getPropertyPath() + ": " + v.getMessage();
+            }
+            try {
+                funcionarioService.validarRegrasComuns(req);
+                return null;
+            } catch (BusinessException ex) {
+                return ex.getMessage();
+            }
+        }
+
+        private void registrarErro(long numero, String mensagem) {
+            comErro++;
+            if (erros.size() < maxErros) {
+                erros.add(new ErroImportacao(numero, mensagem));
+            }
+        }
+
+        private void gravarLote() {
+            try {
+                var resultado = transactionTemplate.execute(status -> gravar(lote));
+                criados += resultado.criados();
+                reativados += resultado.reativados();
+                resultado.erros().forEach(e -> registrarErro(e.linha(), e.mensagem()));
+            } catch (DataAccessException ex) {
+                // Lote inteiro é desfeito (ex.: e-mail gravado em paralelo por outra requisição)
+                var causa = ex.getMostSpecificCause().getMessage();
+                lote.forEach(l -> registrarErro(l.numero(), "Lote não gravado: " + causa));
+            }
+            lote.clear();
+        }
+    }
+
+    private ResultadoLote gravar(List<Linha> lote) {
+        Set<Long> deptoIds = lote.stream().map(l -> l.req().departamentoId()).collect(Collectors.toSet());
+        Map<Long, Departamento> departamentos = departamentoRepository.findAllById(deptoIds).stream()
+                .collect(Collectors.toMap(Departamento::getId, Function.identity()));
+
+        Set<String> emails = lote.stream().map(l -> FuncionarioService.normalizarEmail(l.req().email()))
+                .collect(Collectors.toSet());
+        Map<String, Funcionario> existentes = repository.findByEmailIn(emails).stream()
+                .collect(Collectors.toMap(Funcionario::getEmail, Function.identity()));
+
+        var erros = new ArrayList<ErroImportacao>();
+        var vistos = new HashSet<String>();
+        var paraGravar = new ArrayList<Funcionario>(lote.size());
+        long criados = 0;
+        long reativados = 0;
+
+        for (Linha linha : lote) {
+            var req = linha.req();
+            var depto = departamentos.get(req.departamentoId());
+            if (depto == null) {
+                erros.add(new ErroImportacao(linha.numero(), "Departamento não encontrado com ID: " + req.departamentoId()));
+                continue;
+            }
+            try {
+                funcionarioService.validarDepartamentoAtivo(depto.getAtivo());
+            } catch (BusinessException ex) {
+                erros.add(new ErroImportacao(linha.numero(), ex.getMessage()));
+                continue;
+            }
+            var email = FuncionarioService.normalizarEmail(req.email());
+            if (!vistos.add(email)) {
+                erros.add(new ErroImportacao(linha.numero(), "E-mail repetido no arquivo"));
+                continue;
+            }
+            var existente = existentes.get(email);
+            if (existente == null) {
+                var novo = FuncionarioMapper.toEntity(req);
+                novo.setDepartamento(depto);
+                paraGravar.add(novo);
+                criados++;
+            } else if (Boolean.TRUE.equals(existente.getAtivo())) {
+                erros.add(new ErroImportacao(linha.numero(), "E-mail já cadastrado"));
+            } else {
+                funcionarioService.aplicarAtualizacao(req, existente, depto, true);
+                paraGravar.add(existente);
+                reativados++;
+            }
+        }
+
+        repository.saveAllAndFlush(paraGravar);
+        if (!paraGravar.isEmpty()) {
+            contador.funcionariosAlterados();
+            eventos.publishEvent(EventoAlteracao.importacao(criados, reativados));
+        }
+        return new ResultadoLote(criados, reativados, erros);
+    }
+}
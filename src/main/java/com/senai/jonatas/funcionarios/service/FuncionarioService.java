@@ -1,67 +1,235 @@
 package com.senai.jonatas.funcionarios.service;
 
+import com.senai.jonatas.funcionarios.dto.AlteracoesResponse;
+import com.senai.jonatas.funcionarios.dto.BuscaEmLoteResponse;
+import com.senai.jonatas.funcionarios.dto.DepartamentoResponse;
+import com.senai.jonatas.funcionarios.dto.EstatisticasDepartamentoResponse;
+import com.senai.jonatas.funcionarios.dto.FiltroFuncionarios;
+import com.senai.jonatas.funcionarios.dto.FuncionarioAlteracao;
 import com.senai.jonatas.funcionarios.dto.FuncionarioRequest;
 import com.senai.jonatas.funcionarios.dto.FuncionarioResponse;
+import com.senai.jonatas.funcionarios.dto.InativacaoEmLoteResponse;
+import com.senai.jonatas.funcionarios.dto.PaginaResponse;
+import com.senai.jonatas.funcionarios.dto.VersaoRecurso;
+import com.senai.jonatas.funcionarios.dto.Versionado;
 import com.senai.jonatas.funcionarios.entity.Departamento;
 import com.senai.jonatas.funcionarios.exceptions.*;
 import com.senai.jonatas.funcionarios.mapper.FuncionarioMapper;
 import com.senai.jonatas.funcionarios.entity.Funcionario;
+import com.senai.jonatas.funcionarios.evento.EventoAlteracao;
+import com.senai.jonatas.funcionarios.evento.EventoAlteracao.Acao;
 import com.senai.jonatas.funcionarios.repository.FuncionarioRepository;
+import com.senai.jonatas.funcionarios.repository.FuncionarioSpecifications;
+import io.micrometer.core.annotation.Timed;
 import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 
 @Service
+@Timed("servico.funcionarios")
 public class FuncionarioService {
 
+    // Limite de parâmetros por cláusula IN
+    static final int TAMANHO_LOTE_IN = 1000;
+
     private final FuncionarioRepository repository;
 
     private final DepartamentoService departamentoService;
 
-    public FuncionarioService(FuncionarioRepository repository, DepartamentoService departamentoService) {
+    private final ContadorAlteracoes contador;
+
+    private final ApplicationEventPublisher eventos;
+
+    private final SingleFlight singleFlight;
+
+    private final int tamanhoPaginaPadrao;
+
+    private final int tamanhoPaginaMaximo;
+
+    private final Duration atrasoAlteracoes;
+
+    // Última agregação de todos os departamentos, válida enquanto o ETag das listagens não mudar
+    private volatile EstatisticasCalculadas estatisticas;
+
+    public FuncionarioService(FuncionarioRepository repository, DepartamentoService departamentoService,
+                              ContadorAlteracoes contador, ApplicationEventPublisher eventos,
+                              SingleFlight singleFlight,
+                              @Value("${funcionarios.paginacao.tamanho-padrao:50}") int tamanhoPaginaPadrao,
+                              @Value("${funcionarios.paginacao.tamanho-maximo:500}") int tamanhoPaginaMaximo,
+                              @Value("${funcionarios.alteracoes.atraso:30s}") Duration atrasoAlteracoes) {
         this.repository = repository;
         this.departamentoService = departamentoService;
+        this.contador = contador;
+        this.eventos = eventos;
+        this.singleFlight = singleFlight;
+        this.tamanhoPaginaPadrao = tamanhoPaginaPadrao;
+        this.tamanhoPaginaMaximo = tamanhoPaginaMaximo;
+        this.atrasoAlteracoes = atrasoAlteracoes;
     }
 
-    public List<FuncionarioResponse> listar(String cargo, Boolean ativo) {
-        List<Funcionario> lista;
+    public PaginaResponse<FuncionarioResponse> listar(String cargo, Boolean ativo, String cursor, Integer limite) {
+        return listar(FiltroFuncionarios.porCargoEAtivo(cargo, ativo), cursor, limite);
+    }
+
+    // Quadro do departamento paginado por keyset (idx_funcionario_departamento_nome), nunca pela coleção
+    // Departamento.funcionarios. O departamento é conferido antes (404) pelo cache.
+    public PaginaResponse<FuncionarioResponse> listarDoDepartamento(Long departamentoId, Boolean ativo,
+                                                                    String cursor, Integer limite) {
+        departamentoService.buscarPorId(departamentoId);
+        return listar(FiltroFuncionarios.doDepartamento(departamentoId, ativo), cursor, limite);
+    }
+
+    // Filtros informados viram predicados (FuncionarioSpecifications) e a página é buscada por keyset
+    // sobre (chave de ordenação, id). O cursor guarda a ordenação para não ser reaproveitado em outra.
+    // Chamadas idênticas simultâneas da mesma geração de dados compartilham uma única consulta (SingleFlight).
+    public PaginaResponse<FuncionarioResponse> listar(FiltroFuncionarios filtro, String cursor, Integer limite) {
+        var chave = Arrays.asList(filtro, cursor, tamanhoPagina(limite), contador.etagFuncionarios());
+        return singleFlight.executar("funcionarios.listar", chave, () -> consultarPagina(filtro, cursor, limite));
+    }
 
-        if (cargo != null && !cargo.isBlank() && ativo != null) {
-            lista = repository.findByCargoIgnoreCaseContainingAndAtivoOrderByNomeAsc(cargo.trim(), ativo);
-        } else if (cargo != null && !cargo.isBlank()) {
-            lista = repository.findByCargoIgnoreCaseContainingOrderByNomeAsc(cargo.trim());
-        } else if (ativo != null) {
-            lista = repository.findByAtivoOrderByNomeAsc(ativo);
-        } else {
-            lista = repository.findAllByOrderByNomeAsc();
+    private PaginaResponse<FuncionarioResponse> consultarPagina(FiltroFuncionarios filtro, String cursor, Integer limite) {
+        int tamanho = tamanhoPagina(limite);
+        var ordenacao = filtro.ordenacaoOuPadrao();
+        var direcao = filtro.direcaoOuPadrao();
+        Specification<Funcionario> especificacao = FuncionarioSpecifications.de(filtro);
+        if (cursor != null && !cursor.isBlank()) {
+            String[] chave = Cursor.decode(cursor, 4);
+            if (!chave[0].equals(ordenacao.name()) || !chave[1].equals(direcao.name())) {
+                throw new BusinessException("Cursor de paginação não corresponde à ordenação pedida");
+            }
+            especificacao = especificacao.and(FuncionarioSpecifications.depoisDe(
+                    ordenacao, direcao, ordenacao.doCursor(chave[2]), Cursor.decodeId(chave[3])));
         }
+        // Busca uma linha a mais só para saber se existe próxima página
+        var lista = repository.findPagina(especificacao, ordenacao, direcao, tamanho + 1);
 
-        return lista.stream().map(FuncionarioMapper::toResponse).toList();
+        String proximoCursor = null;
+        if (lista.size() > tamanho) {
+            lista = lista.subList(0, tamanho);
+            var ultimo = lista.get(tamanho - 1);
+            proximoCursor = Cursor.encode(ordenacao.name(), direcao.name(), ordenacao.valor(ultimo), ultimo.id());
+        }
+        return new PaginaResponse<>(lista, proximoCursor);
+    }
+
+    // Sincronização incremental: linhas alteradas (inclusive inativações) depois do token desde.
+    // Sem token começa do início; o proximo da resposta é o desde da chamada seguinte.
+    public AlteracoesResponse<FuncionarioAlteracao> alteracoes(String desde, Integer limite) {
+        int tamanho = tamanhoPagina(limite);
+        Instant ultimoInstante = Instant.EPOCH;
+        Long ultimoId = 0L;
+        if (desde != null && !desde.isBlank()) {
+            String[] chave = Cursor.decode(desde, 2);
+            ultimoInstante = Cursor.decodeInstant(chave[0]);
+            ultimoId = Cursor.decodeId(chave[1]);
+        }
+        var ate = Instant.now().minus(atrasoAlteracoes);
+        var lista = repository.findAlteracoes(ultimoInstante, ultimoId, ate, PageRequest.of(0, tamanho + 1));
+
+        boolean temMais = lista.size() > tamanho;
+        if (temMais) {
+            lista = lista.subList(0, tamanho);
+        }
+        if (!lista.isEmpty()) {
+            var ultimo = lista.get(lista.size() - 1);
+            ultimoInstante = ultimo.atualizadoEm();
+            ultimoId = ultimo.id();
+        }
+        return new AlteracoesResponse<>(lista, Cursor.encode(ultimoInstante, ultimoId), temMais);
+    }
+
+    public List<EstatisticasDepartamentoResponse> estatisticasPorDepartamento() {
+        String etag = contador.etagFuncionarios();
+        var atual = estatisticas;
+        if (atual != null && atual.etag().equals(etag)) {
+            return atual.porDepartamento();
+        }
+        var calculadas = singleFlight.executar("funcionarios.estatisticas", etag,
+                repository::findEstatisticasPorDepartamento);
+        estatisticas = new EstatisticasCalculadas(etag, calculadas);
+        return calculadas;
+    }
+
+    public EstatisticasDepartamentoResponse estatisticasDoDepartamento(Long departamentoId) {
+        var atual = estatisticas;
+        if (atual != null && atual.etag().equals(contador.etagFuncionarios())) {
+            for (var e : atual.porDepartamento()) {
+                if (e.departamentoId().equals(departamentoId)) {
+                    return e;
+                }
+            }
+        }
+        return repository.findEstatisticasDoDepartamento(departamentoId)
+                .orElseThrow(() -> new ResourceNotFoundException("Departamento não encontrado com ID: " + departamentoId));
     }
 
     public FuncionarioResponse buscarPorId(Long id) {
-        var func = repository.findById(id)
+        return buscarPorId(id, contador.etagFuncionarios());
+    }
+
+    // versao: ETag que o chamador vai devolver com o corpo (GET /{id}); só compartilha consulta da mesma versão
+    public FuncionarioResponse buscarPorId(Long id, String versao) {
+        return singleFlight.executar("funcionarios.buscarPorId", Arrays.asList(id, versao), () ->
+                repository.findResponseById(id)
+                        .orElseThrow(() -> new ResourceNotFoundException("Funcionário não encontrado")));
+    }
+
+    // Um SELECT ... IN por lote de até TAMANHO_LOTE_IN IDs, já com os dados do departamento (join na projeção)
+    public BuscaEmLoteResponse<FuncionarioResponse> buscarPorIds(List<Long> ids) {
+        var distintos = BuscaEmLoteResponse.distintos(ids);
+        var encontrados = new HashMap<Long, FuncionarioResponse>(distintos.size() * 2);
+        for (int i = 0; i < distintos.size(); i += TAMANHO_LOTE_IN) {
+            var lote = distintos.subList(i, Math.min(i + TAMANHO_LOTE_IN, distintos.size()));
+            repository.findResponsesByIdIn(lote).forEach(f -> encontrados.put(f.id(), f));
+        }
+        return BuscaEmLoteResponse.naOrdem(distintos, encontrados);
+    }
+
+    public VersaoRecurso versao(Long id) {
+        return repository.findVersaoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Funcionário não encontrado"));
-        return FuncionarioMapper.toResponse(func);
+    }
+
+    public String etagListagem() {
+        return contador.etagFuncionarios();
     }
 
     @Transactional
     public Result<FuncionarioResponse> cadastrar(FuncionarioRequest req) {
         validarRegrasComuns(req);
-        Departamento depto = departamentoService.findDepartamentoById(req.departamentoId());
-        validarDepartamentoAtivo(depto);
+        DepartamentoResponse depto = departamentoService.buscarPorId(req.departamentoId());
+        validarDepartamentoAtivo(depto.ativo());
+        Departamento referencia = departamentoService.referencia(depto.id());
 
-        var existenteOpt = repository.findByEmailIgnoreCase(req.email());
+        // Reativa-ou-cria em dois round trips: a linha existente é lida com bloqueio e,
+        // se não existir, o INSERT é enviado na hora. O FOR UPDATE não bloqueia linha que ainda
+        // não existe: dois primeiros cadastros do mesmo e-mail chegam ambos ao INSERT (ver abaixo).
+        var existenteOpt = repository.findComBloqueioByEmail(normalizarEmail(req.email()));
         if (existenteOpt.isPresent()) {
             var existente = existenteOpt.get();
             if (Boolean.TRUE.equals(existente.getAtivo())) {
                 throw new EmailConflictException("E-mail já cadastrado");
             }
-            aplicarAtualizacao(req, existente, depto, true);
+            aplicarAtualizacao(req, existente, referencia, true);
             var salvo = repository.save(existente);
-            return Result.reactivated(FuncionarioMapper.toResponse(salvo));
+            contador.funcionariosAlterados();
+            var response = FuncionarioMapper.toResponse(salvo, depto);
+            eventos.publishEvent(EventoAlteracao.funcionario(Acao.REATIVADO, response));
+            return Result.reactivated(response);
         }
 
         var novo = Funcionario.builder()
@@ -71,27 +239,46 @@ public class FuncionarioService {
                 .salario(req.salario())
                 .dataAdmissao(req.dataAdmissao())
                 .ativo(true)
-                .departamento(depto)
+                .departamento(referencia)
                 .build();
 
-        var salvo = repository.save(novo);
-        return Result.created(FuncionarioMapper.toResponse(salvo));
+        Funcionario salvo;
+        try {
+            salvo = repository.saveAndFlush(novo);
+        } catch (DataIntegrityViolationException | PessimisticLockingFailureException ex) {
+            // O INSERT perdedor espera a transação que inseriu o mesmo e-mail: se ela commita,
+            // uk_funcionario_email rejeita; se demora mais que o lock timeout do H2, o bloqueio
+            // expira. Nos dois casos o e-mail está sendo cadastrado por outra requisição.
+            if (ex instanceof DataIntegrityViolationException && !violaEmailUnico(ex)) {
+                throw ex;
+            }
+            throw new EmailConflictException("E-mail já cadastrado");
+        }
+        contador.funcionariosAlterados();
+        var response = FuncionarioMapper.toResponse(salvo, depto);
+        eventos.publishEvent(EventoAlteracao.funcionario(Acao.CADASTRADO, response));
+        return Result.created(response);
     }
 
+    // versaoEsperada vem do If-Match (null = sem pré-condição)
     @Transactional
-    public FuncionarioResponse atualizar(Long id, FuncionarioRequest req) {
+    public Versionado<FuncionarioResponse> atualizar(Long id, FuncionarioRequest req, Long versaoEsperada) {
         validarRegrasComuns(req);
-        Departamento depto = departamentoService.findDepartamentoById(req.departamentoId());
+        DepartamentoResponse depto = departamentoService.buscarPorId(req.departamentoId());
 
         var existente = repository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Funcionário não encontrado"));
 
+        if (versaoEsperada != null && !versaoEsperada.equals(existente.getVersao())) {
+            throw new PreconditionFailedException("Funcionário foi alterado desde a versão informada em If-Match");
+        }
+
         if (!Boolean.TRUE.equals(existente.getAtivo())) {
             throw new BusinessException("Apenas funcionários ativos podem ser editados");
         }
 
         if (!existente.getEmail().equalsIgnoreCase(req.email()) &&
-                repository.existsByEmailIgnoreCase(req.email())) {
+                repository.existsByEmail(normalizarEmail(req.email()))) {
             throw new BusinessException("E-mail informado já está em uso por outro funcionário");
         }
 
@@ -99,21 +286,55 @@ public class FuncionarioService {
             throw new BusinessException("Salário não pode ser reduzido");
         }
 
-        aplicarAtualizacao(req, existente, depto, false);
-        var salvo = repository.save(existente);
-        return FuncionarioMapper.toResponse(salvo);
+        aplicarAtualizacao(req, existente, departamentoService.referencia(depto.id()), false);
+        // Flush para a nova versão já sair no ETag da resposta
+        var salvo = repository.saveAndFlush(existente);
+        contador.funcionariosAlterados();
+        var response = FuncionarioMapper.toResponse(salvo, depto);
+        eventos.publishEvent(EventoAlteracao.funcionario(Acao.ATUALIZADO, response));
+        return new Versionado<>(response, versao(id));
     }
 
     @Transactional
     public FuncionarioResponse inativar(Long id) {
-        var existente = repository.findById(id)
+        var existente = repository.findComDepartamentoById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Funcionário não encontrado"));
         existente.setAtivo(false);
         var salvo = repository.save(existente);
-        return FuncionarioMapper.toResponse(salvo);
+        contador.funcionariosAlterados();
+        var response = FuncionarioMapper.toResponse(salvo);
+        eventos.publishEvent(EventoAlteracao.funcionario(Acao.INATIVADO, response));
+        return response;
+    }
+
+    @Transactional
+    public InativacaoEmLoteResponse inativarEmLote(List<Long> ids) {
+        var distintos = ids.stream().distinct().toList();
+        var agora = Instant.now();
+        int inativados = 0;
+        for (int i = 0; i < distintos.size(); i += TAMANHO_LOTE_IN) {
+            var lote = distintos.subList(i, Math.min(i + TAMANHO_LOTE_IN, distintos.size()));
+            inativados += repository.inativarPorIds(lote, agora);
+        }
+        if (inativados > 0) {
+            contador.funcionariosAlterados();
+            eventos.publishEvent(EventoAlteracao.inativacaoEmLote(inativados, null));
+        }
+        return new InativacaoEmLoteResponse(inativados);
+    }
+
+    @Transactional
+    public InativacaoEmLoteResponse inativarPorDepartamento(Long departamentoId) {
+        departamentoService.buscarPorId(departamentoId);
+        int inativados = repository.inativarPorDepartamento(departamentoId, Instant.now());
+        if (inativados > 0) {
+            contador.funcionariosAlterados();
+            eventos.publishEvent(EventoAlteracao.inativacaoEmLote(inativados, departamentoId));
+        }
+        return new InativacaoEmLoteResponse(inativados);
     }
 
-    private void aplicarAtualizacao(FuncionarioRequest req, Funcionario entidade, Departamento depto, boolean reativacao) {
+    void aplicarAtualizacao(FuncionarioRequest req, Funcionario entidade, Departamento depto, boolean reativacao) {
         entidade.setNome(req.nome());
         entidade.setCargo(req.cargo());
         entidade.setSalario(req.salario());
@@ -125,13 +346,34 @@ public class FuncionarioService {
         }
     }
 
-    private void validarDepartamentoAtivo(Departamento depto) {
-        if (!Boolean.TRUE.equals(depto.getAtivo())) {
+    static String normalizarEmail(String email) {
+        return email.trim().toLowerCase();
+    }
+
+    // Limite efetivo da página (padrão quando ausente, teto no máximo): chaves de cache usam este valor,
+    // não o pedido, para limite=500, limite=1000 e o padrão não virarem entradas diferentes da mesma página
+    public int tamanhoPagina(Integer limite) {
+        if (limite == null) {
+            return tamanhoPaginaPadrao;
+        }
+        if (limite <= 0) {
+            throw new BusinessException("Limite de página deve ser maior que zero");
+        }
+        return Math.min(limite, tamanhoPaginaMaximo);
+    }
+
+    void validarDepartamentoAtivo(Boolean departamentoAtivo) {
+        if (!Boolean.TRUE.equals(departamentoAtivo)) {
             throw new BusinessException("Não é possível vincular funcionário a um departamento inativo.");
         }
     }
 
-    private void validarRegrasComuns(FuncionarioRequest req) {
+    private static boolean violaEmailUnico(DataAccessException ex) {
+        return String.valueOf(ex.getMostSpecificCause().getMessage()).toLowerCase(Locale.ROOT)
+                .contains("uk_funcionario_email");
+    }
+
+    void validarRegrasComuns(FuncionarioRequest req) {
         // Nenhum campo só com espaços (Bean Validation + sanity check)
         if (req.nome().isBlank() || req.email().isBlank() || req.cargo().isBlank()) {
             throw new BusinessException("Campos não podem conter apenas espaços em branco");
@@ -146,6 +388,8 @@ public class FuncionarioService {
         }
     }
 
+    private record EstatisticasCalculadas(String etag, List<EstatisticasDepartamentoResponse> porDepartamento) {}
+
     // Resultado para diferenciar 201 (criado) de 200 (reativado) no controller
     public record Result<T>(T body, boolean created, boolean reactivated) {
         public static <T> Result<T> created(T body) { return new Result<>(body, true, false); }
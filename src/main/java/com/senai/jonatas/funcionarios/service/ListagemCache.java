@@ -0,0 +1,100 @@
+package com.senai.jonatas.funcionarios.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.senai.jonatas.funcionarios.dto.FiltroFuncionarios;
+import com.senai.jonatas.funcionarios.dto.OrdenacaoFuncionarios;
+import com.senai.jonatas.funcionarios.entity.Trigramas;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Cache das páginas de GET /api/funcionarios já serializadas em JSON: um acerto não consulta o banco
+ * nem passa pelo Jackson.
+ * <p>
+ * A chave é o filtro normalizado + cursor + limite efetivo ({@link FuncionarioService#tamanhoPagina})
+ * + a geração de {@link ContadorAlteracoes}, que toda escrita em funcionários ou departamentos
+ * incrementa depois do commit. Depois de uma escrita nenhuma
+ * chave antiga volta a ser pedida, então nada desatualizado é servido; as entradas velhas só saem por
+ * tamanho (limite em bytes) ou tempo sem acesso. Métricas: cache.* com cache=funcionarios.listagens
+ * e funcionarios.listagens.cache.bytes (memória ocupada pelas páginas).
+ */
+@Component
+public class ListagemCache {
+
+    private final Cache<Chave, byte[]> paginas;
+
+    private final ContadorAlteracoes contador;
+
+    private final ObjectMapper objectMapper;
+
+    public ListagemCache(ContadorAlteracoes contador, ObjectMapper objectMapper, MeterRegistry registry,
+                         @Value("${funcionarios.cache.listagens.tamanho-maximo:64MB}") DataSize tamanhoMaximo,
+                         @Value("${funcionarios.cache.listagens.ttl:10m}") Duration ttl) {
+        this.contador = contador;
+        this.objectMapper = objectMapper;
+        this.paginas = CaffeineCacheMetrics.monitor(registry, Caffeine.newBuilder()
+                .maximumWeight(tamanhoMaximo.toBytes())
+                .weigher((Chave chave, byte[] json) -> json.length)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build(), "funcionarios.listagens");
+        registry.gauge("funcionarios.listagens.cache.bytes", paginas,
+                cache -> cache.policy().eviction().map(e -> e.weightedSize().orElse(0L)).orElse(0L));
+    }
+
+    // limite já normalizado por FuncionarioService.tamanhoPagina
+    public byte[] obter(FiltroFuncionarios filtro, String cursor, int limite, Supplier<Object> carregar) {
+        var chave = new Chave(normalizar(filtro), cursor == null || cursor.isBlank() ? null : cursor, limite,
+                contador.etagFuncionarios());
+        return paginas.get(chave, c -> serializar(carregar.get()));
+    }
+
+    private byte[] serializar(Object pagina) {
+        try {
+            return objectMapper.writeValueAsBytes(pagina);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Filtros equivalentes (caixa, espaços, escala do salário, padrões de ordenação) caem na mesma chave
+    static FiltroFuncionarios normalizar(FiltroFuncionarios f) {
+        return new FiltroFuncionarios(
+                vazioComoNull(f.cargo() == null ? null : Trigramas.normalizar(f.cargo())),
+                f.ativo(),
+                f.departamentoId(),
+                semEscala(f.salarioMin()),
+                semEscala(f.salarioMax()),
+                f.admissaoDe(),
+                f.admissaoAte(),
+                vazioComoNull(f.nomePrefixo() == null ? null : f.nomePrefixo().trim()),
+                vazioComoNull(f.emailDominio() == null ? null
+                        : f.emailDominio().trim().toLowerCase(Locale.ROOT).replaceFirst("^@", "")),
+                f.ordenacaoOuPadrao(),
+                f.direcaoOuPadrao());
+    }
+
+    private static String vazioComoNull(String valor) {
+        return valor == null || valor.isBlank() ? null : valor;
+    }
+
+    private static BigDecimal semEscala(BigDecimal valor) {
+        return valor == null ? null : valor.stripTrailingZeros();
+    }
+
+    private record Chave(FiltroFuncionarios filtro, String cursor, int limite, String geracao) {}
+}
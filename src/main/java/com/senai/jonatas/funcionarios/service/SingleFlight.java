@@ -0,0 +1,88 @@
+package com.senai.jonatas.funcionarios.service;
+
+import com.senai.jonatas.funcionarios.exceptions.TempoEsgotadoException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Coalescência de leituras idênticas concorrentes: enquanto uma consulta com a mesma chave está em
+ * andamento, as chamadas seguintes esperam o resultado dela em vez de ir ao banco de novo.
+ * <p>
+ * A primeira chamada executa na própria thread; as demais esperam até o timeout configurado
+ * (TempoEsgotadoException, 503) e recebem a mesma exceção se a consulta falhar.
+ * <p>
+ * Quem chega se junta a uma consulta que pode ter começado antes de um commit recente. Por isso a chave
+ * precisa incluir a geração dos dados (ContadorAlteracoes) ou a versão que o chamador já associou à
+ * resposta. Sem isso, um resultado velho sai com ETag novo ou volta para um cache depois da invalidação.
+ * Métrica singleflight.chamadas (nome, resultado=executada|compartilhada|tempo-esgotado).
+ */
+@Component
+public class SingleFlight {
+
+    private final ConcurrentHashMap<Chave, CompletableFuture<Object>> emAndamento = new ConcurrentHashMap<>();
+
+    private final MeterRegistry registry;
+
+    private final long timeoutMs;
+
+    public SingleFlight(MeterRegistry registry,
+                        @Value("${funcionarios.single-flight.timeout:5s}") Duration timeout) {
+        this.registry = registry;
+        this.timeoutMs = timeout.toMillis();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <V> V executar(String nome, Object chave, Supplier<V> consulta) {
+        var id = new Chave(nome, chave);
+        var nova = new CompletableFuture<Object>();
+        var existente = emAndamento.putIfAbsent(id, nova);
+        if (existente != null) {
+            return (V) aguardar(nome, existente);
+        }
+        contar(nome, "executada");
+        try {
+            V resultado = consulta.get();
+            nova.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            nova.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(id, nova);
+        }
+    }
+
+    private Object aguardar(String nome, CompletableFuture<Object> emCurso) {
+        try {
+            var resultado = emCurso.get(timeoutMs, TimeUnit.MILLISECONDS);
+            contar(nome, "compartilhada");
+            return resultado;
+        } catch (TimeoutException e) {
+            contar(nome, "tempo-esgotado");
+            throw new TempoEsgotadoException("Tempo esgotado aguardando consulta em andamento");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TempoEsgotadoException("Interrompido aguardando consulta em andamento");
+        } catch (ExecutionException e) {
+            contar(nome, "compartilhada");
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            if (e.getCause() instanceof Error erro) throw erro;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void contar(String nome, String resultado) {
+        registry.counter("singleflight.chamadas", "nome", nome, "resultado", resultado).increment();
+    }
+
+    private record Chave(String nome, Object chave) {}
+}
@@ -0,0 +1,35 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Cria as sequências usadas no lugar de IDENTITY.
+ * Cada sequência começa logo após o maior id existente; com pooled-lo o valor lido
+ * é o primeiro id do bloco, então os ids já gravados nunca são reutilizados.
+ */
+public class V2__Sequencias_de_ids extends BaseJavaMigration {
+
+    private static final int INCREMENTO = 50; // igual ao allocationSize das entidades
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement st = context.getConnection().createStatement()) {
+            criarSequencia(st, "departamentos_seq", "departamentos");
+            criarSequencia(st, "funcionarios_seq", "funcionarios");
+        }
+    }
+
+    private void criarSequencia(Statement st, String sequencia, String tabela) throws SQLException {
+        long inicio = 1;
+        try (var rs = st.executeQuery("select coalesce(max(id), 0) + 1 from " + tabela)) {
+            if (rs.next()) {
+                inicio = rs.getLong(1);
+            }
+        }
+        st.execute("create sequence " + sequencia + " start with " + inicio + " increment by " + INCREMENTO);
+    }
+}
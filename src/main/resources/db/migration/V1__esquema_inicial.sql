@@ -0,0 +1,42 @@
+-- Esquema inicial. Escrito com IF NOT EXISTS para também servir de baseline
+-- em bancos que foram criados pelo antigo spring.jpa.hibernate.ddl-auto=update.
+
+create table if not exists departamentos (
+    id bigint generated by default as identity primary key,
+    nome varchar(255) not null,
+    sigla varchar(10) not null,
+    ativo boolean not null,
+    constraint uk_departamento_nome unique (nome)
+);
+
+create table if not exists funcionarios (
+    id bigint generated by default as identity primary key,
+    nome varchar(255) not null,
+    email varchar(200) not null,
+    cargo varchar(255) not null,
+    salario numeric(16, 2) not null,
+    data_admissao date not null,
+    ativo boolean not null,
+    departamento_id bigint not null,
+    constraint uk_funcionario_email unique (email),
+    constraint fk_funcionario_departamento foreign key (departamento_id) references departamentos (id)
+);
+
+alter table funcionarios add column if not exists cargo_normalizado varchar(255);
+
+create table if not exists funcionario_cargo_trigramas (
+    funcionario_id bigint not null,
+    trigrama varchar(3) not null,
+    primary key (funcionario_id, trigrama),
+    constraint fk_trigrama_funcionario foreign key (funcionario_id) references funcionarios (id)
+);
+
+-- O e-mail é comparado já em minúsculas; garante que linhas antigas sigam a mesma regra
+update funcionarios set email = lower(trim(email)) where email <> lower(trim(email));
+
+create index if not exists idx_funcionario_nome on funcionarios (nome, id);
+create index if not exists idx_funcionario_ativo_nome on funcionarios (ativo, nome, id);
+create index if not exists idx_funcionario_departamento_ativo on funcionarios (departamento_id, ativo);
+create index if not exists idx_funcionario_cargo_normalizado on funcionarios (cargo_normalizado);
+create index if not exists idx_cargo_trigrama on funcionario_cargo_trigramas (trigrama, funcionario_id);
+create index if not exists idx_departamento_ativo_nome on departamentos (ativo, nome);
@@ -0,0 +1,12 @@
+-- A unicidade do nome de departamento passa a valer sem diferenciar maiúsculas/minúsculas:
+-- uk_departamento_nome agora cobre nome_normalizado (trim + minúsculas).
+
+alter table departamentos add column if not exists nome_normalizado varchar(255);
+
+update departamentos set nome_normalizado = lower(trim(nome));
+
+alter table departamentos alter column nome_normalizado set not null;
+
+alter table departamentos drop constraint if exists uk_departamento_nome;
+
+alter table departamentos add constraint uk_departamento_nome unique (nome_normalizado);
@@ -0,0 +1,12 @@
+-- Versão (bloqueio otimista / ETag) e instante da última alteração (Last-Modified).
+-- Linhas já existentes começam na versão 0 com o instante da migração.
+
+alter table departamentos add column if not exists versao bigint default 0 not null;
+
+alter table departamentos add column if not exists atualizado_em timestamp(6) with time zone
+    default current_timestamp not null;
+
+alter table funcionarios add column if not exists versao bigint default 0 not null;
+
+alter table funcionarios add column if not exists atualizado_em timestamp(6) with time zone
+    default current_timestamp not null;
@@ -0,0 +1,3 @@
+-- Feed de alterações (GET /api/funcionarios/changes): keyset sobre (atualizado_em, id)
+
+create index if not exists idx_funcionario_atualizado_em on funcionarios (atualizado_em, id);
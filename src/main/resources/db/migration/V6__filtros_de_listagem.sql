@@ -0,0 +1,13 @@
+-- Filtros e ordenações dinâmicas de GET /api/funcionarios (FuncionarioSpecifications).
+-- email_dominio permite filtrar por domínio com igualdade em vez de LIKE '%@dominio'.
+
+alter table funcionarios add column if not exists email_dominio varchar(200);
+
+update funcionarios set email_dominio = lower(substring(email, locate('@', email) + 1))
+where email_dominio is null and locate('@', email) > 0;
+
+create index if not exists idx_funcionario_email_dominio on funcionarios (email_dominio, nome, id);
+
+-- Keyset com ordenação por salário ou data de admissão
+create index if not exists idx_funcionario_salario on funcionarios (salario, id);
+create index if not exists idx_funcionario_data_admissao on funcionarios (data_admissao, id);
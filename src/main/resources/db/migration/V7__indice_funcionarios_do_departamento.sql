@@ -0,0 +1,4 @@
+-- Quadro do departamento (GET /api/departamentos/{id}/funcionarios): keyset sobre (nome, id) dentro do departamento.
+-- A sonda "departamento tem funcionários ativos" continua em idx_funcionario_departamento_ativo.
+
+create index if not exists idx_funcionario_departamento_nome on funcionarios (departamento_id, nome, id);
@@ -0,0 +1,59 @@
+package com.senai.jonatas.funcionarios;
+
+import com.senai.jonatas.funcionarios.entity.Departamento;
+import com.senai.jonatas.funcionarios.entity.Funcionario;
+import com.senai.jonatas.funcionarios.entity.Funcionario.FuncionarioBuilder;
+import com.senai.jonatas.funcionarios.repository.DepartamentoRepository;
+import com.senai.jonatas.funcionarios.repository.FuncionarioRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Massa de dados comum aos testes: cada teste ajusta só o que importa para ele
+ * (ativo, cargo, nome...) sobre um funcionário válido com valores padrão.
+ */
+public final class MassaDeTeste {
+
+    private MassaDeTeste() {}
+
+    public static Departamento departamento(DepartamentoRepository repository, String nome, String sigla) {
+        return repository.save(Departamento.builder().nome(nome).sigla(sigla).build());
+    }
+
+    // Funcionário válido e ativo; i deixa nome e e-mail únicos
+    public static FuncionarioBuilder funcionario(int i, Departamento departamento) {
+        return Funcionario.builder()
+                .nome("Funcionario " + i)
+                .email("func" + i + "@empresa.com")
+                .cargo("Analista")
+                .salario(new BigDecimal("3500.00"))
+                .dataAdmissao(LocalDate.of(2020, 1, 1))
+                .departamento(departamento);
+    }
+
+    public static List<Funcionario> funcionarios(FuncionarioRepository repository, int quantidade, Departamento departamento) {
+        return funcionarios(repository, quantidade, departamento, (i, f) -> {});
+    }
+
+    // ajuste recebe o índice e o builder já com os valores padrão de funcionario(i, departamento)
+    public static List<Funcionario> funcionarios(FuncionarioRepository repository, int quantidade,
+                                                 Departamento departamento,
+                                                 BiConsumer<Integer, FuncionarioBuilder> ajuste) {
+        var funcionarios = new ArrayList<Funcionario>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            var builder = funcionario(i, departamento);
+            ajuste.accept(i, builder);
+            funcionarios.add(builder.build());
+        }
+        return repository.saveAll(funcionarios);
+    }
+
+    public static void limpar(FuncionarioRepository funcionarios, DepartamentoRepository departamentos) {
+        funcionarios.deleteAll();
+        departamentos.deleteAllInBatch();
+    }
+}
@@ -0,0 +1,83 @@
+package com.senai.jonatas.funcionarios.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.senai.jonatas.funcionarios.MassaDeTeste;
+import com.senai.jonatas.funcionarios.repository.DepartamentoRepository;
+import com.senai.jonatas.funcionarios.repository.FuncionarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.ByteArrayInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Compressão é decidida pelo conector do Tomcat (ETag forte desliga o gzip): MockMvc não passa por ele
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureTestDatabase
+class FuncionarioControllerCompressaoTest {
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FuncionarioRepository funcionarioRepository;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        // Bem acima de server.compression.min-response-size (2KB)
+        var depto = MassaDeTeste.departamento(departamentoRepository, "Tecnologia", "TI");
+        MassaDeTeste.funcionarios(funcionarioRepository, 40, depto);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MassaDeTeste.limpar(funcionarioRepository, departamentoRepository);
+    }
+
+    @Test
+    void listagemSaiComprimidaComETagFraco() throws Exception {
+        var resposta = http.send(get("/api/funcionarios").header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(resposta.statusCode()).isEqualTo(200);
+        assertThat(resposta.headers().firstValue("Content-Encoding")).hasValue("gzip");
+        assertThat(resposta.headers().firstValue("ETag")).hasValueSatisfying(etag -> assertThat(etag).startsWith("W/\""));
+        try (var corpo = new GZIPInputStream(new ByteArrayInputStream(resposta.body()))) {
+            assertThat(objectMapper.readTree(corpo).get("itens")).hasSize(40);
+        }
+    }
+
+    @Test
+    void eTagFracoContinuaRespondendo304() throws Exception {
+        var primeira = http.send(get("/api/funcionarios").build(), HttpResponse.BodyHandlers.discarding());
+        var etag = primeira.headers().firstValue("ETag").orElseThrow();
+
+        var segunda = http.send(get("/api/funcionarios").header("If-None-Match", etag).build(),
+                HttpResponse.BodyHandlers.discarding());
+
+        assertThat(segunda.statusCode()).isEqualTo(304);
+    }
+
+    private HttpRequest.Builder get(String caminho) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho))
+                .header("Accept", "application/json");
+    }
+}
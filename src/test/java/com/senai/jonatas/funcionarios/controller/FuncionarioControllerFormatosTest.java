@@ -0,0 +1,109 @@
+package com.senai.jonatas.funcionarios.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.senai.jonatas.funcionarios.MassaDeTeste;
+import com.senai.jonatas.funcionarios.repository.DepartamentoRepository;
+import com.senai.jonatas.funcionarios.repository.FuncionarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Negociação de formato em GET /api/funcionarios: JSON por padrão, CBOR/Smile só com Accept explícito
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class FuncionarioControllerFormatosTest {
+
+    private static final String ACCEPT_NAVEGADOR =
+            "text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,*/*;q=0.8";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FuncionarioRepository funcionarioRepository;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @BeforeEach
+    void setUp() {
+        var depto = MassaDeTeste.departamento(departamentoRepository, "Tecnologia", "TI");
+        MassaDeTeste.funcionarios(funcionarioRepository, 3, depto);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MassaDeTeste.limpar(funcionarioRepository, departamentoRepository);
+    }
+
+    @Test
+    void semAcceptRespondeJson() throws Exception {
+        mockMvc.perform(get("/api/funcionarios"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.itens.length()").value(3));
+    }
+
+    @Test
+    void acceptCuringaRespondeJson() throws Exception {
+        mockMvc.perform(get("/api/funcionarios").header(HttpHeaders.ACCEPT, "*/*"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.itens.length()").value(3));
+    }
+
+    @Test
+    void acceptDeNavegadorRespondeJson() throws Exception {
+        mockMvc.perform(get("/api/funcionarios").header(HttpHeaders.ACCEPT, ACCEPT_NAVEGADOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void acceptCborExplicitoRespondeCbor() throws Exception {
+        var resposta = mockMvc.perform(get("/api/funcionarios").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse();
+        assertThat(String.join(",", resposta.getHeaders(HttpHeaders.VARY))).contains(HttpHeaders.ACCEPT);
+        var corpo = resposta.getContentAsByteArray();
+
+        var pagina = new ObjectMapper(new CBORFactory()).readTree(corpo);
+        assertThat(pagina.get("itens")).hasSize(3);
+        assertThat(pagina.get("itens").get(0).get("dataAdmissao").asText()).isEqualTo("2020-01-01");
+    }
+
+    @Test
+    void acceptSmileExplicitoRespondeSmile() throws Exception {
+        var corpo = mockMvc.perform(get("/api/funcionarios").header(HttpHeaders.ACCEPT, "application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(new ObjectMapper(new SmileFactory()).readTree(corpo).get("itens")).hasSize(3);
+    }
+
+    @Test
+    void jsonComPreferenciaMaiorQueCborRespondeJson() throws Exception {
+        mockMvc.perform(get("/api/funcionarios").header(HttpHeaders.ACCEPT, "application/cbor;q=0.5, application/json"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,95 @@
+package com.senai.jonatas.funcionarios.evento;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventosHubTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final CountDownLatch liberarTravado = new CountDownLatch(1);
+
+    private final CountDownLatch travadoEncerrado = new CountDownLatch(1);
+
+    private final CountDownLatch recebido = new CountDownLatch(1);
+
+    private final CopyOnWriteArrayList<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    private EventosHub hub;
+
+    @AfterEach
+    void tearDown() {
+        liberarTravado.countDown();
+        hub.encerrar();
+    }
+
+    // Uma thread de envio só: sem compensação, o assinante travado seguraria a entrega ao outro
+    @Test
+    void assinanteQueNaoLeNaoSeguraOsDemaisEEEncerradoNoPrazo() throws Exception {
+        hub = new EventosHub(new ObjectMapper().registerModule(new JavaTimeModule()), registry,
+                16, 10, 1, Duration.ofMinutes(1), Duration.ofMillis(200), Duration.ofHours(1)) {
+            @Override
+            SseEmitter novoEmitter(long timeoutMs) {
+                var emitter = emitters.isEmpty() ? new ClienteQueNaoLe(timeoutMs) : new ClienteQueLe(timeoutMs);
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        hub.assinar(null);
+        hub.assinar(null);
+
+        hub.publicar(EventoAlteracao.importacao(1, 0));
+
+        assertThat(recebido.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(travadoEncerrado.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(hub.quantidadeAssinantes()).isEqualTo(1);
+        assertThat(registry.counter("eventos.envios.travados").count()).isEqualTo(1);
+    }
+
+    // send fica preso como numa escrita para um cliente que parou de ler
+    private class ClienteQueNaoLe extends SseEmitter {
+
+        ClienteQueNaoLe(long timeoutMs) {
+            super(timeoutMs);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                liberarTravado.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IOException("Conexão encerrada");
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            travadoEncerrado.countDown();
+        }
+    }
+
+    private class ClienteQueLe extends SseEmitter {
+
+        ClienteQueLe(long timeoutMs) {
+            super(timeoutMs);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            recebido.countDown();
+        }
+    }
+}
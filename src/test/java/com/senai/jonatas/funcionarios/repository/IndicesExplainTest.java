@@ -0,0 +1,225 @@
+package com.senai.jonatas.funcionarios.repository;
+
+import com.senai.jonatas.funcionarios.MassaDeTeste;
+import com.senai.jonatas.funcionarios.dto.FiltroFuncionarios;
+import com.senai.jonatas.funcionarios.dto.OrdenacaoFuncionarios;
+import com.senai.jonatas.funcionarios.entity.Departamento;
+import com.senai.jonatas.funcionarios.entity.Funcionario;
+import jakarta.persistence.EntityManager;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Confere no plano do H2 (EXPLAIN) que as consultas quentes usam os índices das migrações.
+// O SQL vem do datasource-proxy: é o que o Hibernate gerou para os métodos do repositório,
+// reexecutado como EXPLAIN com os mesmos parâmetros.
+@DataJpaTest
+@Import(IndicesExplainTest.CapturaDeSqlConfig.class)
+class IndicesExplainTest {
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private FuncionarioRepository funcionarioRepository;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private CapturaDeSql capturaDeSql;
+
+    private List<Departamento> departamentos;
+
+    @BeforeEach
+    void setUp() {
+        departamentos = new ArrayList<>();
+        for (int d = 0; d < 10; d++) {
+            departamentos.add(departamentoRepository.save(Departamento.builder()
+                    .nome("Departamento " + d).sigla("D" + d).ativo(d % 4 != 0).build()));
+        }
+        MassaDeTeste.funcionarios(funcionarioRepository, 500, departamentos.get(0), (i, f) -> f
+                .cargo(i % 2 == 0 ? "Analista" : "Desenvolvedor")
+                .ativo(i % 5 != 0)
+                .departamento(departamentos.get(i % 10)));
+        em.flush();
+        em.clear();
+        em.createNativeQuery("analyze").executeUpdate();
+    }
+
+    @Test
+    void primeiraPaginaUsaIndiceDeNome() {
+        assertThat(plano(() -> pagina(FuncionarioSpecifications.de(filtro(null, null, null)))))
+                .containsIgnoringCase("idx_funcionario_nome");
+    }
+
+    @Test
+    void paginaSeguinteBuscaAFaixaNoIndiceDeNome() {
+        assertThat(plano(() -> pagina(FuncionarioSpecifications.de(filtro(null, null, null))
+                .and(depoisDe("Funcionario 3", 3L)))))
+                .containsIgnoringCase("idx_funcionario_nome: nome >=");
+    }
+
+    @Test
+    void paginaSeguinteDosAtivosUsaIndiceAtivoNome() {
+        assertThat(plano(() -> pagina(FuncionarioSpecifications.de(filtro(null, true, null))
+                .and(depoisDe("Funcionario 3", 3L)))))
+                .containsIgnoringCase("idx_funcionario_ativo_nome");
+    }
+
+    @Test
+    void filtroDeCargoUsaIndiceDeTrigrama() {
+        assertThat(plano(() -> pagina(FuncionarioSpecifications.de(filtro("analis", null, null)))))
+                .containsIgnoringCase("idx_cargo_trigrama");
+    }
+
+    @Test
+    void filtroPorDominioDeEmailUsaIndiceDeDominio() {
+        assertThat(plano(() -> pagina(FuncionarioSpecifications.de(filtro(null, null, "empresa.com"))
+                .and(depoisDe("Funcionario 3", 3L)))))
+                .containsIgnoringCase("idx_funcionario_email_dominio");
+    }
+
+    @Test
+    void quadroDoDepartamentoUsaIndiceDepartamentoNome() {
+        var filtro = FiltroFuncionarios.doDepartamento(departamentos.get(3).getId(), null);
+        assertThat(plano(() -> pagina(FuncionarioSpecifications.de(filtro).and(depoisDe("Funcionario 1", 1L)))))
+                .containsIgnoringCase("idx_funcionario_departamento_nome");
+    }
+
+    @Test
+    void sondaDeAtivosDoDepartamentoUsaIndiceComposto() {
+        assertThat(plano(() -> funcionarioRepository.existsByDepartamentoIdAndAtivoTrue(departamentos.get(3).getId())))
+                .containsIgnoringCase("idx_funcionario_departamento_ativo");
+    }
+
+    @Test
+    void buscaPorEmailUsaIndiceUnico() {
+        assertThat(plano(() -> funcionarioRepository.findComBloqueioByEmail("func42@empresa.com")))
+                .containsIgnoringCase("uk_funcionario_email");
+    }
+
+    @Test
+    void feedDeAlteracoesUsaIndiceAtualizadoEm() {
+        assertThat(plano(() -> funcionarioRepository.findAlteracoes(
+                Instant.parse("2099-01-01T00:00:00Z"), 0L, Instant.parse("2099-01-02T00:00:00Z"), PageRequest.of(0, 50))))
+                .containsIgnoringCase("idx_funcionario_atualizado_em");
+    }
+
+    @Test
+    void departamentosAtivosUsamIndiceAtivoNome() {
+        assertThat(plano(() -> departamentoRepository.findByAtivoOrderByNomeAsc(true)))
+                .containsIgnoringCase("idx_departamento_ativo_nome");
+    }
+
+    private static FiltroFuncionarios filtro(String cargo, Boolean ativo, String emailDominio) {
+        return new FiltroFuncionarios(cargo, ativo, null, null, null, null, null, null, emailDominio, null, null);
+    }
+
+    private static Specification<Funcionario> depoisDe(String nome, Long id) {
+        return FuncionarioSpecifications.depoisDe(OrdenacaoFuncionarios.NOME, Sort.Direction.ASC, nome, id);
+    }
+
+    // Mesma chamada do FuncionarioService.listar: uma linha a mais que a página
+    private Object pagina(Specification<Funcionario> especificacao) {
+        return funcionarioRepository.findPagina(especificacao, OrdenacaoFuncionarios.NOME, Sort.Direction.ASC, 21);
+    }
+
+    // Executa a consulta do repositório, pega o último SELECT emitido e devolve o EXPLAIN dele
+    private String plano(Runnable consulta) {
+        capturaDeSql.limpar();
+        consulta.run();
+        var select = capturaDeSql.ultimoSelect();
+        return em.unwrap(Session.class).doReturningWork(conexao -> explain(conexao, select));
+    }
+
+    private static String explain(Connection conexao, QueryInfo select) throws SQLException {
+        try (var ps = conexao.prepareStatement("explain " + select.getQuery())) {
+            var parametros = select.getParametersList().isEmpty() ? List.<ParameterSetOperation>of()
+                    : select.getParametersList().get(0);
+            for (ParameterSetOperation operacao : parametros) {
+                try {
+                    operacao.getMethod().invoke(ps, operacao.getArgs());
+                } catch (ReflectiveOperationException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+            try (var rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getString(1);
+            }
+        }
+    }
+
+    static class CapturaDeSql implements QueryExecutionListener {
+
+        private final List<QueryInfo> instrucoes = new ArrayList<>();
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public synchronized void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            instrucoes.addAll(queryInfoList);
+        }
+
+        synchronized void limpar() {
+            instrucoes.clear();
+        }
+
+        synchronized QueryInfo ultimoSelect() {
+            return instrucoes.stream()
+                    .filter(q -> q.getQuery().stripLeading().toLowerCase().startsWith("select"))
+                    .reduce((primeiro, segundo) -> segundo)
+                    .orElseThrow(() -> new AssertionError("Nenhum SELECT executado: " + instrucoes));
+        }
+    }
+
+    @TestConfiguration
+    static class CapturaDeSqlConfig {
+
+        @Bean
+        static CapturaDeSql capturaDeSql() {
+            return new CapturaDeSql();
+        }
+
+        @Bean
+        static BeanPostProcessor capturaDeSqlDataSourcePostProcessor(ObjectProvider<CapturaDeSql> captura) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                        return ProxyDataSourceBuilder.create(dataSource).name(beanName).listener(captura.getObject()).build();
+                    }
+                    return bean;
+                }
+            };
+        }
+    }
+}
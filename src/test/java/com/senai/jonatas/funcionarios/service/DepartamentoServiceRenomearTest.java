@@ -0,0 +1,66 @@
+package com.senai.jonatas.funcionarios.service;
+
+import com.senai.jonatas.funcionarios.MassaDeTeste;
+import com.senai.jonatas.funcionarios.dto.DepartamentoRequest;
+import com.senai.jonatas.funcionarios.dto.FuncionarioAlteracao;
+import com.senai.jonatas.funcionarios.repository.DepartamentoRepository;
+import com.senai.jonatas.funcionarios.repository.FuncionarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Nome e sigla do departamento vão em cada item do feed de alterações dos funcionários
+@SpringBootTest(properties = "funcionarios.alteracoes.atraso=0s")
+@AutoConfigureTestDatabase
+class DepartamentoServiceRenomearTest {
+
+    @Autowired
+    private DepartamentoService service;
+
+    @Autowired
+    private FuncionarioService funcionarioService;
+
+    @Autowired
+    private FuncionarioRepository funcionarioRepository;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @AfterEach
+    void tearDown() {
+        MassaDeTeste.limpar(funcionarioRepository, departamentoRepository);
+    }
+
+    @Test
+    void renomearDepartamentoReenviaSeusFuncionariosNoFeed() {
+        var marketing = MassaDeTeste.departamento(departamentoRepository, "Marketing", "MKT");
+        var outro = MassaDeTeste.departamento(departamentoRepository, "Compras", "COM");
+        MassaDeTeste.funcionarios(funcionarioRepository, 5, marketing, (i, f) -> f.departamento(i < 3 ? marketing : outro));
+        var token = funcionarioService.alteracoes(null, 100).proximo();
+
+        service.atualizar(marketing.getId(), new DepartamentoRequest("Comunicação", "COMU"), null);
+
+        var alteracoes = funcionarioService.alteracoes(token, 100);
+        assertThat(alteracoes.itens()).hasSize(3)
+                .allSatisfy(f -> {
+                    assertThat(f.departamentoNome()).isEqualTo("Comunicação");
+                    assertThat(f.departamentoSigla()).isEqualTo("COMU");
+                })
+                .extracting(FuncionarioAlteracao::departamentoId).containsOnly(marketing.getId());
+    }
+
+    @Test
+    void atualizarSemMudarNomeNemSiglaNaoMexeNoFeed() {
+        var marketing = MassaDeTeste.departamento(departamentoRepository, "Marketing", "MKT");
+        MassaDeTeste.funcionarios(funcionarioRepository, 3, marketing);
+        var token = funcionarioService.alteracoes(null, 100).proximo();
+
+        service.atualizar(marketing.getId(), new DepartamentoRequest("Marketing", "MKT"), null);
+
+        assertThat(funcionarioService.alteracoes(token, 100).itens()).isEmpty();
+    }
+}
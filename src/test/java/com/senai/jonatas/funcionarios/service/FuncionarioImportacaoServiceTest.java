@@ -0,0 +1,62 @@
+package com.senai.jonatas.funcionarios.service;
+
+import com.senai.jonatas.funcionarios.MassaDeTeste;
+import com.senai.jonatas.funcionarios.dto.ErroImportacao;
+import com.senai.jonatas.funcionarios.repository.DepartamentoRepository;
+import com.senai.jonatas.funcionarios.repository.FuncionarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+class FuncionarioImportacaoServiceTest {
+
+    @Autowired
+    private FuncionarioImportacaoService service;
+
+    @Autowired
+    private FuncionarioRepository funcionarioRepository;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @AfterEach
+    void tearDown() {
+        MassaDeTeste.limpar(funcionarioRepository, departamentoRepository);
+    }
+
+    // Linhas que não são objeto viram erro da própria linha; as demais continuam sendo gravadas
+    @Test
+    void linhaNullOuQueNaoEObjetoEErroDaLinha() throws Exception {
+        var depto = MassaDeTeste.departamento(departamentoRepository, "Logística", "LOG");
+        var ndjson = String.join("\n",
+                linha("Ana Souza", "ana@empresa.com", depto.getId()),
+                "null",
+                "[1, 2]",
+                "42",
+                linha("Bruno Lima", "bruno@empresa.com", depto.getId()));
+
+        var resultado = service.importarNdjson(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(resultado.processados()).isEqualTo(5);
+        assertThat(resultado.criados()).isEqualTo(2);
+        assertThat(resultado.comErro()).isEqualTo(3);
+        assertThat(resultado.erros()).extracting(ErroImportacao::linha).containsExactly(2L, 3L, 4L);
+        assertThat(resultado.erros().get(0).mensagem()).isEqualTo("Linha deve conter um objeto JSON");
+        assertThat(funcionarioRepository.count()).isEqualTo(2);
+    }
+
+    private static String linha(String nome, String email, Long departamentoId) {
+        return """
+                {"nome":"%s","email":"%s","cargo":"Analista","salario":3500.00,"dataAdmissao":"2020-01-01","departamentoId":%d}"""
+                .formatted(nome, email, departamentoId);
+    }
+}
@@ -0,0 +1,81 @@
+package com.senai.jonatas.funcionarios.service;
+
+import com.senai.jonatas.funcionarios.MassaDeTeste;
+import com.senai.jonatas.funcionarios.dto.FuncionarioRequest;
+import com.senai.jonatas.funcionarios.exceptions.EmailConflictException;
+import com.senai.jonatas.funcionarios.repository.DepartamentoRepository;
+import com.senai.jonatas.funcionarios.repository.FuncionarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Primeiro cadastro do mesmo e-mail em paralelo: o SELECT ... FOR UPDATE não acha linha para bloquear
+@SpringBootTest
+@AutoConfigureTestDatabase
+class FuncionarioServiceCadastroConcorrenteTest {
+
+    @Autowired
+    private FuncionarioService service;
+
+    @Autowired
+    private FuncionarioRepository funcionarioRepository;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @AfterEach
+    void tearDown() {
+        MassaDeTeste.limpar(funcionarioRepository, departamentoRepository);
+    }
+
+    @Test
+    void umCadastroVenceEOOutroRecebeConflito() throws Exception {
+        var depto = MassaDeTeste.departamento(departamentoRepository, "Suporte", "SUP");
+        var req = new FuncionarioRequest("Carla Dias", "carla@empresa.com", "Analista",
+                new BigDecimal("4000.00"), LocalDate.of(2021, 3, 1), depto.getId());
+
+        var largada = new CountDownLatch(1);
+        Callable<Object> cadastro = () -> {
+            largada.await();
+            return service.cadastrar(req);
+        };
+        var executor = Executors.newFixedThreadPool(2);
+        var resultados = new ArrayList<Future<Object>>();
+        try {
+            resultados.add(executor.submit(cadastro));
+            resultados.add(executor.submit(cadastro));
+            largada.countDown();
+
+            var criados = new ArrayList<Object>();
+            var conflitos = new ArrayList<Throwable>();
+            for (var resultado : resultados) {
+                try {
+                    criados.add(resultado.get(30, TimeUnit.SECONDS));
+                } catch (ExecutionException ex) {
+                    conflitos.add(ex.getCause());
+                }
+            }
+
+            assertThat(criados).hasSize(1);
+            assertThat(conflitos).singleElement().isInstanceOf(EmailConflictException.class);
+            assertThat(funcionarioRepository.count()).isEqualTo(1);
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.senai.jonatas.funcionarios.service;
+
+import com.senai.jonatas.funcionarios.MassaDeTeste;
+import com.senai.jonatas.funcionarios.dto.FiltroFuncionarios;
+import com.senai.jonatas.funcionarios.dto.FuncionarioResponse;
+import com.senai.jonatas.funcionarios.dto.OrdenacaoFuncionarios;
+import com.senai.jonatas.funcionarios.exceptions.BusinessException;
+import com.senai.jonatas.funcionarios.repository.DepartamentoRepository;
+import com.senai.jonatas.funcionarios.repository.FuncionarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Paginação por keyset com cursor opaco: percurso completo, cursor adulterado e limites de página
+@SpringBootTest(properties = {
+        "funcionarios.paginacao.tamanho-padrao=6",
+        "funcionarios.paginacao.tamanho-maximo=8"
+})
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+class FuncionarioServiceCursorTest {
+
+    @Autowired
+    private FuncionarioService service;
+
+    @Autowired
+    private FuncionarioRepository funcionarioRepository;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        var depto = MassaDeTeste.departamento(departamentoRepository, "Jurídico", "JUR");
+        // nomes repetidos: o desempate por id precisa manter a ordem estável entre páginas
+        MassaDeTeste.funcionarios(funcionarioRepository, 20, depto, (i, f) -> f.nome("Advogado " + (i % 7)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        MassaDeTeste.limpar(funcionarioRepository, departamentoRepository);
+    }
+
+    @Test
+    void cursorPercorreTudoNaOrdemDeNomeEIdSemRepetirNemPular() {
+        var vistos = new ArrayList<FuncionarioResponse>();
+        String cursor = null;
+        do {
+            var pagina = service.listar(null, null, cursor, 3);
+            assertThat(pagina.itens()).hasSizeLessThanOrEqualTo(3);
+            vistos.addAll(pagina.itens());
+            cursor = pagina.proximoCursor();
+        } while (cursor != null);
+
+        assertThat(vistos).hasSize(20)
+                .isSortedAccordingTo(Comparator.comparing(FuncionarioResponse::nome)
+                        .thenComparing(FuncionarioResponse::id));
+        assertThat(vistos).extracting(FuncionarioResponse::id).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void ultimaPaginaNaoTemProximoCursor() {
+        assertThat(service.listar(null, null, null, 8).proximoCursor()).isNotNull();
+        var ultima = service.listar(null, null, Cursor.encode("NOME", "ASC", "Advogado 6", Long.MAX_VALUE - 1), 8);
+        assertThat(ultima.itens()).isEmpty();
+        assertThat(ultima.proximoCursor()).isNull();
+    }
+
+    @Test
+    void cursorAdulteradoEhRecusado() {
+        var semId = Base64.getUrlEncoder().encodeToString("NOME\u0000ASC\u0000Advogado 1".getBytes(StandardCharsets.UTF_8));
+        var idInvalido = Cursor.encode("NOME", "ASC", "Advogado 1", "abc");
+
+        for (var cursor : new String[]{"@@nao-e-base64@@", semId, idInvalido}) {
+            assertThatThrownBy(() -> service.listar(null, null, cursor, 5))
+                    .isInstanceOf(BusinessException.class);
+        }
+    }
+
+    @Test
+    void cursorDeOutraOrdenacaoEhRecusado() {
+        var cursor = service.listar(null, null, null, 5).proximoCursor();
+        var porSalario = new FiltroFuncionarios(null, null, null, null, null, null, null, null, null,
+                OrdenacaoFuncionarios.SALARIO, null);
+
+        assertThatThrownBy(() -> service.listar(porSalario, cursor, 5)).isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void cursorAdulteradoResponde400() throws Exception {
+        mockMvc.perform(get("/api/funcionarios").param("cursor", "@@nao-e-base64@@"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void limiteAcimaDoMaximoEhReduzidoEAusenteUsaOPadrao() {
+        assertThat(service.listar(null, null, null, 1000).itens()).hasSize(8);
+        assertThat(service.listar(null, null, null, null).itens()).hasSize(6);
+    }
+
+    @Test
+    void limiteZeroOuNegativoEhRecusado() {
+        assertThatThrownBy(() -> service.listar(null, null, null, 0)).isInstanceOf(BusinessException.class);
+        assertThatThrownBy(() -> service.listar(null, null, null, -5)).isInstanceOf(BusinessException.class);
+    }
+}
@@ -0,0 +1,60 @@
+package com.senai.jonatas.funcionarios.service;
+
+import com.senai.jonatas.funcionarios.MassaDeTeste;
+import com.senai.jonatas.funcionarios.repository.DepartamentoRepository;
+import com.senai.jonatas.funcionarios.repository.FuncionarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+class FuncionarioServiceEstatisticasTest {
+
+    @Autowired
+    private FuncionarioService service;
+
+    @Autowired
+    private FuncionarioRepository funcionarioRepository;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @AfterEach
+    void tearDown() {
+        MassaDeTeste.limpar(funcionarioRepository, departamentoRepository);
+    }
+
+    @Test
+    void agregaQuadroEFolhaPorDepartamentoComPrecisaoDecimal() {
+        var financeiro = MassaDeTeste.departamento(departamentoRepository, "Financeiro", "FIN");
+        var vazio = MassaDeTeste.departamento(departamentoRepository, "Vazio", "VZ");
+        var salarios = new String[]{"1000.10", "2000.25", "9999.00"};
+        MassaDeTeste.funcionarios(funcionarioRepository, 3, financeiro, (i, f) -> f
+                .salario(new BigDecimal(salarios[i]))
+                .ativo(i < 2));
+
+        var estatisticas = service.estatisticasPorDepartamento();
+
+        assertThat(estatisticas).hasSize(2);
+        var fin = estatisticas.get(0);
+        assertThat(fin.departamentoId()).isEqualTo(financeiro.getId());
+        assertThat(fin.ativos()).isEqualTo(2);
+        assertThat(fin.inativos()).isEqualTo(1);
+        assertThat(fin.somaSalarios()).isEqualByComparingTo("3000.35");
+        assertThat(fin.mediaSalarial()).isEqualByComparingTo("1500.18");
+        assertThat(fin.menorSalario()).isEqualByComparingTo("1000.10");
+        assertThat(fin.maiorSalario()).isEqualByComparingTo("2000.25");
+
+        var semFuncionarios = service.estatisticasDoDepartamento(vazio.getId());
+        assertThat(semFuncionarios.ativos()).isZero();
+        assertThat(semFuncionarios.somaSalarios()).isEqualByComparingTo("0");
+        assertThat(semFuncionarios.mediaSalarial()).isNull();
+    }
+}
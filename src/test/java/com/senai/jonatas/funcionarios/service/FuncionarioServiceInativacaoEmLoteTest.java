@@ -0,0 +1,146 @@
+package com.senai.jonatas.funcionarios.service;
+
+import com.senai.jonatas.funcionarios.MassaDeTeste;
+import com.senai.jonatas.funcionarios.entity.Departamento;
+import com.senai.jonatas.funcionarios.entity.Funcionario;
+import com.senai.jonatas.funcionarios.repository.DepartamentoRepository;
+import com.senai.jonatas.funcionarios.repository.FuncionarioRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Os UPDATEs em lote não passam por @Version nem por normalize(): versão e atualizadoEm são mantidos à mão
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+class FuncionarioServiceInativacaoEmLoteTest {
+
+    @Autowired
+    private FuncionarioService service;
+
+    @Autowired
+    private FuncionarioRepository funcionarioRepository;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Departamento departamento;
+
+    private List<Funcionario> ativos;
+
+    private List<Funcionario> inativos;
+
+    @BeforeEach
+    void setUp() {
+        departamento = MassaDeTeste.departamento(departamentoRepository, "Operações", "OPS");
+        var salvos = MassaDeTeste.funcionarios(funcionarioRepository, 6, departamento, (i, f) -> f.ativo(i < 4));
+        ativos = salvos.subList(0, 4);
+        inativos = salvos.subList(4, 6);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MassaDeTeste.limpar(funcionarioRepository, departamentoRepository);
+    }
+
+    @Test
+    void soLinhasAtivasMudamEVersaoEAtualizacaoAvancam() {
+        var antes = porId();
+        var ids = new ArrayList<>(ids(ativos.subList(0, 3)));
+        ids.addAll(ids(inativos));
+        ids.add(ativos.get(0).getId());
+
+        assertThat(service.inativarEmLote(ids).inativados()).isEqualTo(3);
+
+        var depois = porId();
+        for (var f : ativos.subList(0, 3)) {
+            var atual = depois.get(f.getId());
+            assertThat(atual.getAtivo()).isFalse();
+            assertThat(atual.getVersao()).isEqualTo(antes.get(f.getId()).getVersao() + 1);
+            assertThat(atual.getAtualizadoEm()).isAfterOrEqualTo(antes.get(f.getId()).getAtualizadoEm());
+        }
+        for (var f : List.of(ativos.get(3), inativos.get(0), inativos.get(1))) {
+            assertThat(depois.get(f.getId()).getVersao()).isEqualTo(antes.get(f.getId()).getVersao());
+            assertThat(depois.get(f.getId()).getAtivo()).isEqualTo(antes.get(f.getId()).getAtivo());
+        }
+    }
+
+    @Test
+    void etagsDoRegistroEDaListagemMudam() {
+        var id = ativos.get(0).getId();
+        var etagRegistro = service.versao(id).etag();
+        var etagListagem = service.etagListagem();
+
+        service.inativarEmLote(List.of(id));
+
+        assertThat(service.versao(id).etag()).isNotEqualTo(etagRegistro);
+        assertThat(service.etagListagem()).isNotEqualTo(etagListagem);
+    }
+
+    @Test
+    void inativacaoPorDepartamentoTambemAvancaVersao() {
+        var antes = porId();
+
+        assertThat(service.inativarPorDepartamento(departamento.getId()).inativados()).isEqualTo(4);
+
+        var depois = porId();
+        ativos.forEach(f -> assertThat(depois.get(f.getId()).getVersao()).isEqualTo(antes.get(f.getId()).getVersao() + 1));
+        inativos.forEach(f -> assertThat(depois.get(f.getId()).getVersao()).isEqualTo(antes.get(f.getId()).getVersao()));
+    }
+
+    @Test
+    void listaMaiorQueOLoteViraUmUpdatePorLote() {
+        var ids = new ArrayList<>(ids(ativos));
+        LongStream.rangeClosed(1, 1500).forEach(i -> ids.add(-i));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertThat(service.inativarEmLote(ids).inativados()).isEqualTo(4);
+
+        // 1504 IDs distintos em lotes de TAMANHO_LOTE_IN (1000): dois UPDATEs
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void contextoDePersistenciaEhLimpoDepoisDoUpdate() {
+        var id = ativos.get(0).getId();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assertThat(funcionarioRepository.findById(id).orElseThrow().getAtivo()).isTrue();
+
+            service.inativarEmLote(List.of(id));
+
+            assertThat(funcionarioRepository.findById(id).orElseThrow().getAtivo()).isFalse();
+            assertThat(service.buscarPorId(id).ativo()).isFalse();
+        });
+    }
+
+    private Map<Long, Funcionario> porId() {
+        return funcionarioRepository.findAll().stream().collect(Collectors.toMap(Funcionario::getId, Function.identity()));
+    }
+
+    private static List<Long> ids(List<Funcionario> funcionarios) {
+        return funcionarios.stream().map(Funcionario::getId).toList();
+    }
+}
@@ -0,0 +1,172 @@
+package com.senai.jonatas.funcionarios.service;
+
+import com.senai.jonatas.funcionarios.MassaDeTeste;
+import com.senai.jonatas.funcionarios.dto.FiltroFuncionarios;
+import com.senai.jonatas.funcionarios.dto.FuncionarioResponse;
+import com.senai.jonatas.funcionarios.dto.OrdenacaoFuncionarios;
+import com.senai.jonatas.funcionarios.entity.Departamento;
+import com.senai.jonatas.funcionarios.entity.Funcionario;
+import com.senai.jonatas.funcionarios.exceptions.BusinessException;
+import com.senai.jonatas.funcionarios.repository.DepartamentoRepository;
+import com.senai.jonatas.funcionarios.repository.FuncionarioRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureTestDatabase
+class FuncionarioServiceListarTest {
+
+    @Autowired
+    private FuncionarioService service;
+
+    @Autowired
+    private FuncionarioRepository funcionarioRepository;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int d = 0; d < 3; d++) {
+            int departamento = d;
+            var depto = MassaDeTeste.departamento(departamentoRepository, "Departamento " + d, "D" + d);
+            MassaDeTeste.funcionarios(funcionarioRepository, 10, depto, (i, f) -> f
+                    .nome("Funcionario " + departamento + "-" + i)
+                    .email("func" + departamento + "-" + i + "@empresa.com")
+                    .cargo(i % 2 == 0 ? "Analista de Sistemas" : "Gerente")
+                    .ativo(i % 3 != 0));
+        }
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        MassaDeTeste.limpar(funcionarioRepository, departamentoRepository);
+    }
+
+    @Test
+    void listarSemFiltroExecutaUmaUnicaInstrucao() {
+        var pagina = service.listar(null, null, null, 20);
+
+        assertThat(pagina.itens()).hasSize(20)
+                .allSatisfy(f -> assertThat(f.departamentoSigla()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void listarComFiltrosExecutaUmaUnicaInstrucaoPorRamo() {
+        service.listar("analista", null, null, null);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        service.listar(null, true, null, null);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        var pagina = service.listar("analista", true, null, null);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(pagina.itens()).allSatisfy(f -> {
+            assertThat(f.ativo()).isTrue();
+            assertThat(f.departamentoNome()).startsWith("Departamento");
+        });
+    }
+
+    // limite=500, limite=1000 e o padrão que cai no máximo precisam dar a mesma chave de cache
+    @Test
+    void tamanhoPaginaAplicaPadraoETeto() {
+        assertThat(service.tamanhoPagina(null)).isEqualTo(50);
+        assertThat(service.tamanhoPagina(20)).isEqualTo(20);
+        assertThat(service.tamanhoPagina(500)).isEqualTo(service.tamanhoPagina(1000)).isEqualTo(500);
+        assertThatThrownBy(() -> service.tamanhoPagina(0)).isInstanceOf(BusinessException.class);
+    }
+
+    @Test
+    void buscaDeCargoPorSubstringIgnoraCaixa() {
+        assertThat(service.listar("DE SIST", null, null, 100).itens()).hasSize(15)
+                .allSatisfy(f -> assertThat(f.cargo()).isEqualTo("Analista de Sistemas"));
+        assertThat(service.listar("te", null, null, 100).itens()).hasSize(30);
+        assertThat(service.listar("100%", null, null, 100).itens()).isEmpty();
+    }
+
+    @Test
+    void cursorPercorreTodasAsPaginasSemRepetir() {
+        var ids = new ArrayList<Long>();
+        String cursor = null;
+        do {
+            var pagina = service.listar(null, null, cursor, 7);
+            pagina.itens().forEach(f -> ids.add(f.id()));
+            cursor = pagina.proximoCursor();
+        } while (cursor != null);
+
+        assertThat(ids).hasSize(30).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void filtrosDinamicosComOrdenacaoDecrescentePaginamPorKeyset() {
+        var depto = departamentoRepository.findAllByOrderByNomeAsc().get(0);
+        var filtro = new FiltroFuncionarios(null, null, depto.getId(), new BigDecimal("3000"), null,
+                LocalDate.of(2019, 1, 1), null, "Funcionario", "EMPRESA.com",
+                OrdenacaoFuncionarios.SALARIO, Sort.Direction.DESC);
+        statistics.clear();
+
+        var ids = new ArrayList<Long>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            var pagina = service.listar(filtro, cursor, 3);
+            pagina.itens().forEach(f -> {
+                assertThat(f.departamentoId()).isEqualTo(depto.getId());
+                ids.add(f.id());
+            });
+            cursor = pagina.proximoCursor();
+            paginas++;
+        } while (cursor != null);
+
+        assertThat(ids).hasSize(10).doesNotHaveDuplicates().isSortedAccordingTo(Comparator.reverseOrder());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(paginas);
+    }
+
+    @Test
+    void buscaEmLoteMantemAOrdemPedidaEApontaIdsInexistentes() {
+        var existentes = funcionarioRepository.findAll().stream().map(Funcionario::getId).sorted().toList();
+        var pedidos = List.of(existentes.get(5), -1L, existentes.get(0), existentes.get(5), existentes.get(9));
+        statistics.clear();
+
+        var resposta = service.buscarPorIds(pedidos);
+
+        assertThat(resposta.itens()).extracting(FuncionarioResponse::id)
+                .containsExactly(existentes.get(5), existentes.get(0), existentes.get(9));
+        assertThat(resposta.itens()).allSatisfy(f -> assertThat(f.departamentoSigla()).isNotNull());
+        assertThat(resposta.naoEncontrados()).containsExactly(-1L);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void buscaEmLoteRecusaIdNulo() {
+        assertThatThrownBy(() -> service.buscarPorIds(Arrays.asList(1L, null)))
+                .isInstanceOf(BusinessException.class);
+    }
+}
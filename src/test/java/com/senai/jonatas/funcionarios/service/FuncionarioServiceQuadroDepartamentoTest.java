@@ -0,0 +1,100 @@
+package com.senai.jonatas.funcionarios.service;
+
+import com.senai.jonatas.funcionarios.MassaDeTeste;
+import com.senai.jonatas.funcionarios.dto.FuncionarioResponse;
+import com.senai.jonatas.funcionarios.entity.Departamento;
+import com.senai.jonatas.funcionarios.exceptions.ResourceNotFoundException;
+import com.senai.jonatas.funcionarios.repository.DepartamentoRepository;
+import com.senai.jonatas.funcionarios.repository.FuncionarioRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+class FuncionarioServiceQuadroDepartamentoTest {
+
+    @Autowired
+    private FuncionarioService service;
+
+    @Autowired
+    private FuncionarioRepository funcionarioRepository;
+
+    @Autowired
+    private DepartamentoRepository departamentoRepository;
+
+    private Departamento vendas;
+
+    private Departamento compras;
+
+    @BeforeEach
+    void setUp() {
+        vendas = MassaDeTeste.departamento(departamentoRepository, "Vendas", "VEN");
+        compras = MassaDeTeste.departamento(departamentoRepository, "Compras", "COM");
+        // nomes em ordem inversa à de inserção, para a ordenação por nome não coincidir com a de id
+        MassaDeTeste.funcionarios(funcionarioRepository, 15, vendas, (i, f) -> f
+                .nome(String.format("Pessoa %02d", 15 - i))
+                .ativo(i % 3 != 0)
+                .departamento(i < 12 ? vendas : compras));
+    }
+
+    @AfterEach
+    void tearDown() {
+        MassaDeTeste.limpar(funcionarioRepository, departamentoRepository);
+    }
+
+    @Test
+    void quadroPaginaPorNomeSoComAtivosDoDepartamento() {
+        var itens = percorrer(vendas.getId(), true, 3);
+
+        assertThat(itens).hasSize(8)
+                .allSatisfy(f -> {
+                    assertThat(f.departamentoId()).isEqualTo(vendas.getId());
+                    assertThat(f.ativo()).isTrue();
+                });
+        assertThat(itens).extracting(FuncionarioResponse::nome).isSorted().doesNotHaveDuplicates();
+    }
+
+    @Test
+    void quadroSemFiltroDeAtivoTrazTodosDoDepartamento() {
+        assertThat(percorrer(vendas.getId(), null, 5)).hasSize(12);
+        assertThat(percorrer(vendas.getId(), false, 5)).hasSize(4).allSatisfy(f -> assertThat(f.ativo()).isFalse());
+        assertThat(percorrer(compras.getId(), null, 5)).hasSize(3);
+    }
+
+    @Test
+    void departamentoInexistenteResponde404() {
+        assertThatThrownBy(() -> service.listarDoDepartamento(-1L, null, null, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void sondaDeFuncionariosAtivosAcompanhaAInativacao() {
+        assertThat(funcionarioRepository.existsByDepartamentoIdAndAtivoTrue(vendas.getId())).isTrue();
+
+        service.inativarPorDepartamento(vendas.getId());
+
+        assertThat(funcionarioRepository.existsByDepartamentoIdAndAtivoTrue(vendas.getId())).isFalse();
+        assertThat(funcionarioRepository.existsByDepartamentoIdAndAtivoTrue(compras.getId())).isTrue();
+    }
+
+    private List<FuncionarioResponse> percorrer(Long departamentoId, Boolean ativo, int limite) {
+        var itens = new ArrayList<FuncionarioResponse>();
+        String cursor = null;
+        do {
+            var pagina = service.listarDoDepartamento(departamentoId, ativo, cursor, limite);
+            itens.addAll(pagina.itens());
+            cursor = pagina.proximoCursor();
+        } while (cursor != null);
+        return itens;
+    }
+}
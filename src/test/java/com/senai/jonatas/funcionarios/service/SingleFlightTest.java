@@ -0,0 +1,151 @@
+package com.senai.jonatas.funcionarios.service;
+
+import com.senai.jonatas.funcionarios.exceptions.BusinessException;
+import com.senai.jonatas.funcionarios.exceptions.TempoEsgotadoException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void chamadasSimultaneasComMesmaChaveCompartilhamUmaExecucao() throws Exception {
+        var singleFlight = new SingleFlight(registry, Duration.ofSeconds(5));
+        var execucoes = new AtomicInteger();
+        var liberar = new CountDownLatch(1);
+
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var lider = executor.submit(() -> singleFlight.executar("teste", 1L, () -> {
+                execucoes.incrementAndGet();
+                aguardar(liberar);
+                return "resultado";
+            }));
+            while (execucoes.get() == 0) Thread.onSpinWait();
+
+            var seguidores = new ArrayList<Future<String>>();
+            for (int i = 0; i < 5; i++) {
+                seguidores.add(executor.submit(() -> singleFlight.<String>executar("teste", 1L, () -> {
+                    execucoes.incrementAndGet();
+                    return "outro";
+                })));
+            }
+            Thread.sleep(100);
+            liberar.countDown();
+
+            assertThat(lider.get(5, TimeUnit.SECONDS)).isEqualTo("resultado");
+            for (var seguidor : seguidores) {
+                assertThat(seguidor.get(5, TimeUnit.SECONDS)).isEqualTo("resultado");
+            }
+        } finally {
+            encerrar(executor);
+        }
+        assertThat(execucoes).hasValue(1);
+        assertThat(contagem("compartilhada")).isEqualTo(5);
+    }
+
+    @Test
+    void chavesDeGeracoesDiferentesNaoCompartilham() throws Exception {
+        var singleFlight = new SingleFlight(registry, Duration.ofSeconds(5));
+        var iniciou = new CountDownLatch(1);
+        var liberar = new CountDownLatch(1);
+
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            var antiga = executor.submit(() -> singleFlight.executar("teste", List.of(1L, "g1"), () -> {
+                iniciou.countDown();
+                aguardar(liberar);
+                return "antes do commit";
+            }));
+            iniciou.await();
+            assertThat(singleFlight.executar("teste", List.of(1L, "g2"), () -> "depois do commit"))
+                    .isEqualTo("depois do commit");
+            liberar.countDown();
+            assertThat(antiga.get(5, TimeUnit.SECONDS)).isEqualTo("antes do commit");
+        } finally {
+            encerrar(executor);
+        }
+        assertThat(contagem("compartilhada")).isZero();
+    }
+
+    @Test
+    void falhaDaConsultaChegaATodosQueAguardavam() throws Exception {
+        var singleFlight = new SingleFlight(registry, Duration.ofSeconds(5));
+        var iniciou = new CountDownLatch(1);
+        var liberar = new CountDownLatch(1);
+
+        var executor = Executors.newFixedThreadPool(2);
+        try {
+            var lider = executor.submit(() -> singleFlight.executar("teste", "x", () -> {
+                iniciou.countDown();
+                aguardar(liberar);
+                throw new BusinessException("falhou");
+            }));
+            iniciou.await();
+            var seguidor = executor.submit(() -> singleFlight.executar("teste", "x", () -> "nunca"));
+            Thread.sleep(100);
+            liberar.countDown();
+
+            assertThatThrownBy(() -> lider.get()).hasCauseInstanceOf(BusinessException.class);
+            assertThatThrownBy(() -> seguidor.get()).hasCauseInstanceOf(BusinessException.class);
+        } finally {
+            encerrar(executor);
+        }
+        // terminada a consulta, a próxima chamada executa de novo
+        assertThat(singleFlight.executar("teste", "x", () -> "ok")).isEqualTo("ok");
+    }
+
+    @Test
+    void quemAguardaDesisteAposOTimeout() throws Exception {
+        var singleFlight = new SingleFlight(registry, Duration.ofMillis(50));
+        var iniciou = new CountDownLatch(1);
+        var liberar = new CountDownLatch(1);
+
+        var executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> singleFlight.executar("teste", 1, () -> {
+                iniciou.countDown();
+                aguardar(liberar);
+                return "lento";
+            }));
+            iniciou.await();
+            assertThatThrownBy(() -> singleFlight.executar("teste", 1, () -> "rapido"))
+                    .isInstanceOf(TempoEsgotadoException.class);
+            liberar.countDown();
+        } finally {
+            encerrar(executor);
+        }
+        assertThat(contagem("tempo-esgotado")).isEqualTo(1);
+    }
+
+    private double contagem(String resultado) {
+        return registry.counter("singleflight.chamadas", "nome", "teste", "resultado", resultado).count();
+    }
+
+    private static void encerrar(ExecutorService executor) throws InterruptedException {
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}